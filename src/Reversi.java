@@ -1,16 +1,26 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import controller.AlphaBetaAI;
 import controller.HumanPlayer;
 import controller.IReversiPlayer;
 import controller.ProviderFalliblePlayer;
 import controller.ProviderInfalliblePlayer;
 import controller.ReversiController;
 import controller.SimpleAI;
+import model.ConcurrentReversiModel;
 import model.IReversiModel;
 import model.PlayerTurn;
 import model.ProviderModelToReversiModelAdapter;
 import model.ReadOnlyReversiImpl;
 import model.ReadOnlyReversiModel;
+import model.BitboardHexReversiModel;
+import model.BitboardSquareReversiModel;
+import model.RowBitboardSquareReversiModel;
 import model.HexReversiModel;
+import model.SparseHexReversiModel;
 import model.SquareReversiModel;
+import model.TranspositionTable;
 import provider.cs3500.reversi.strategy.infallible.AvoidCornerAdjacencyMaxScore;
 import provider.cs3500.reversi.strategy.infallible.CaptureMostPieces;
 import provider.cs3500.reversi.strategy.infallible.CherryPickerCMSOptimizer;
@@ -20,16 +30,26 @@ import provider.cs3500.reversi.player.Player;
 import view.HexReversiGUI;
 import view.IReversiGUI;
 import view.SquareReversiGUI;
+import view.SwingThreadGUI;
 
 /**
  * Main class to run the Reversi game.
  */
 public final class Reversi {
+  /**
+   * The largest hex radius played on a full tile array; larger boards are stored sparsely.
+   */
+  private static final int DENSE_HEX_MAX_RADIUS = 32;
+  /**
+   * Memory of the transposition table the search AIs of a game share, in MiB.
+   */
+  private static final int SEARCH_TABLE_MEGABYTES = 64;
+
   /**
    * Provided code modified to start and view a new Reversi game.
    * args as follows: modelType, playerType, playerType, OPTIONAL radius
    * modelType: hex, square (defaults to square)
-   * playerType: human, simpleAI (defaults to human)
+   * playerType: human, simpleAI, alphaBetaAI (defaults to human)
    * radius: integer greater than 1 (by default set to 5)
    *
    * @param args the string arguments to run the game
@@ -39,9 +59,9 @@ public final class Reversi {
     if (args.length < 3 || args.length > 4) {
       throw new IllegalArgumentException("Please provide 3 or 4 valid parameters as described.");
     } else if (args.length == 4) {
-      mutableModel = parseModel(args[0], Integer.parseInt(args[3]));
+      mutableModel = new ConcurrentReversiModel(parseModel(args[0], Integer.parseInt(args[3])));
     } else {
-      mutableModel = parseModel(args[0], 5);
+      mutableModel = new ConcurrentReversiModel(parseModel(args[0], 5));
     }
 
     ReadOnlyReversiModel model = new ReadOnlyReversiImpl(mutableModel);
@@ -50,8 +70,10 @@ public final class Reversi {
 
     //GraphicalFrameView view2 = new JFrameView(model2);
 
-    IReversiPlayer player1 = makePlayer1(args[1], mutableModel, PlayerTurn.WHITE);
-    IReversiPlayer player2 = makePlayer1(args[2], mutableModel, PlayerTurn.BLACK);
+    TranspositionTable table = args[1].equals("alphaBetaAI") || args[2].equals("alphaBetaAI")
+            ? new TranspositionTable(SEARCH_TABLE_MEGABYTES) : null;
+    IReversiPlayer player1 = makePlayer1(args[1], mutableModel, PlayerTurn.WHITE, table);
+    IReversiPlayer player2 = makePlayer1(args[2], mutableModel, PlayerTurn.BLACK, table);
     //Player player2 = makePlayer2(args[1], model2);
 
     IReversiGUI view1;
@@ -65,8 +87,15 @@ public final class Reversi {
       view2 = new SquareReversiGUI(model);
     }
 
-    ReversiController controller1 = new ReversiController(mutableModel, player1, view1);
-    ReversiController controller2 = new ReversiController(mutableModel, player2, view2);
+    // both controllers are told about turns on one background thread, so the AIs search there
+    // one move at a time while the windows, updated through SwingThreadGUI, stay responsive;
+    // closing a window exits, which ends the thread with the game
+    ExecutorService turns = Executors.newSingleThreadExecutor(task ->
+            new Thread(task, "reversi-players"));
+    ReversiController controller1 = new ReversiController(mutableModel, player1,
+            new SwingThreadGUI(view1), turns);
+    ReversiController controller2 = new ReversiController(mutableModel, player2,
+            new SwingThreadGUI(view2), turns);
 
     //ProviderController controller2 = new ProviderController(model2, view2, player2);
 
@@ -77,17 +106,28 @@ public final class Reversi {
 
   private static IReversiModel parseModel(String arg, int radius) {
     IReversiModel model;
-    if (arg.equals("hex")) {
+    if (arg.equals("hex") && radius <= BitboardHexReversiModel.MAX_RADIUS) {
+      model = new BitboardHexReversiModel(radius);
+    } else if (arg.equals("hex") && radius <= DENSE_HEX_MAX_RADIUS) {
       model = new HexReversiModel(radius);
+    } else if (arg.equals("hex")) {
+      model = new SparseHexReversiModel(radius);
+    } else if (radius == 4) {
+      model = new BitboardSquareReversiModel();
+    } else if (radius <= RowBitboardSquareReversiModel.MAX_RADIUS && radius % 2 == 0) {
+      model = new RowBitboardSquareReversiModel(radius);
     } else {
       model = new SquareReversiModel(radius);
     }
     return model;
   }
 
-  private static IReversiPlayer makePlayer1(String arg, IReversiModel model, PlayerTurn pt) {
+  private static IReversiPlayer makePlayer1(String arg, IReversiModel model, PlayerTurn pt,
+                                            TranspositionTable table) {
     if (arg.equals("simpleAI")) {
       return new SimpleAI(model, pt);
+    } else if (arg.equals("alphaBetaAI")) {
+      return new AlphaBetaAI(model, pt, AlphaBetaAI.DEFAULT_MILLIS_PER_MOVE, 0, table);
     }
     return new HumanPlayer(pt);
   }
@@ -0,0 +1,450 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+import model.BoardShape;
+import model.BoardSymmetry;
+import model.FillType;
+import model.IReversiModel;
+import model.PlayerTurn;
+import model.Tile;
+import model.TranspositionTable;
+import model.UndoRecord;
+
+/**
+ * Represents an AI that looks ahead to pick its move, so it plays strong moves on hex and square
+ * boards alike. It runs a negamax alpha-beta search with principal variation search, searching
+ * one ply deeper each time and starting each search in a narrow window around the last score,
+ * until a per-move time or node budget runs out; it then plays the best move of the deepest
+ * search that got far enough to find one. The search plays on a copy of the model with makeMove
+ * and unmakeMove, and on boards of up to SYMMETRY_LIMIT tiles tries one move out of every set of
+ * mirror images at the root. Given a
+ * TranspositionTable, which may be shared with other players and games, it stores what it finds
+ * for every position it searches, cutting off positions already searched deep enough and trying
+ * the best move found for a position first.
+ * Positions are scored by how many more tiles the player to move holds than the other, plus a
+ * bonus for each corner, which can never be flipped, less a penalty for each tile next to an
+ * empty corner, plus how many more moves the player to move has than the other; all of these
+ * come from counts the model keeps move by move and a few corner tiles, so scoring a position
+ * costs the same on any size of board. Finished games are scored as a win or loss by the final
+ * margin.
+ */
+public class AlphaBetaAI implements IReversiPlayer {
+  /**
+   * Time a move may take when no budget is given, in milliseconds.
+   */
+  public static final long DEFAULT_MILLIS_PER_MOVE = 1000;
+  /**
+   * The most tiles a board may have for the root moves to be checked for mirror images, since
+   * the tables for that check take a dozen ints a tile.
+   */
+  public static final int SYMMETRY_LIMIT = 10_000;
+
+  private static final int INFINITY = 100_000_000;
+  private static final int WIN = 1_000_000;
+  private static final int ASPIRATION = 16;
+  private static final int CORNER = 20;
+  private static final int NEAR_CORNER = -8;
+  private static final int MOBILITY = 3;
+  // how many nodes are searched between looks at the clock
+  private static final int CHECK_INTERVAL = 1024;
+
+  private final IReversiModel model;
+  private final PlayerTurn pt;
+  private final ArrayList<PlayerListener> listeners;
+  private final long millisPerMove;
+  private final long nodesPerMove;
+  // null on boards too big to check for mirror images, with fills then null as well
+  private final BoardSymmetry symmetry;
+  private final FillType[] fills;
+  /**
+   * The indices of the corners of the board.
+   */
+  private final int[] corners;
+  /**
+   * nearCorners[i] holds the indices of the tiles next to corners[i].
+   */
+  private final int[][] nearCorners;
+  private final TranspositionTable table;
+
+  // the copy being searched and how far the search has gone
+  private IReversiModel board;
+  private long nodes;
+  private long deadline;
+  private boolean stopped;
+  private boolean exact;
+  private int rootMove;
+
+  /**
+   * Constructor for an AlphaBetaAI that takes up to DEFAULT_MILLIS_PER_MOVE on each move.
+   *
+   * @param model an IReversiModel for this player to execute the respective commands on
+   * @param pt    the player this AI plays as
+   */
+  public AlphaBetaAI(IReversiModel model, PlayerTurn pt) {
+    this(model, pt, DEFAULT_MILLIS_PER_MOVE, 0, null);
+  }
+
+  /**
+   * Constructor for an AlphaBetaAI with the given budget for each move and no transposition
+   * table. A search stops at whichever limit it reaches first; a limit of 0 means no limit of
+   * that kind.
+   *
+   * @param model         an IReversiModel for this player to execute the respective commands on
+   * @param pt            the player this AI plays as
+   * @param millisPerMove time each move may take, in milliseconds, or 0
+   * @param nodesPerMove  positions each move may search, or 0
+   * @throws IllegalArgumentException if a limit is negative or neither limit is set
+   */
+  public AlphaBetaAI(IReversiModel model, PlayerTurn pt, long millisPerMove, long nodesPerMove)
+          throws IllegalArgumentException {
+    this(model, pt, millisPerMove, nodesPerMove, null);
+  }
+
+  /**
+   * Constructor for an AlphaBetaAI with the given budget for each move, caching its searches in
+   * the given table. A search stops at whichever limit it reaches first; a limit of 0 means no
+   * limit of that kind.
+   *
+   * @param model         an IReversiModel for this player to execute the respective commands on
+   * @param pt            the player this AI plays as
+   * @param millisPerMove time each move may take, in milliseconds, or 0
+   * @param nodesPerMove  positions each move may search, or 0
+   * @param table         the table to share search results through, or null for none
+   * @throws IllegalArgumentException if a limit is negative or neither limit is set
+   */
+  public AlphaBetaAI(IReversiModel model, PlayerTurn pt, long millisPerMove, long nodesPerMove,
+                     TranspositionTable table) throws IllegalArgumentException {
+    if (millisPerMove < 0 || nodesPerMove < 0 || (millisPerMove == 0 && nodesPerMove == 0)) {
+      throw new IllegalArgumentException("Budget must be non-negative with at least one limit, "
+              + "not " + millisPerMove + " milliseconds and " + nodesPerMove + " nodes.");
+    }
+    this.model = Objects.requireNonNull(model);
+    this.pt = Objects.requireNonNull(pt);
+    this.listeners = new ArrayList<>();
+    this.millisPerMove = millisPerMove;
+    this.nodesPerMove = nodesPerMove;
+    BoardShape shape = model.getShape();
+    if (model.getNumTiles() <= SYMMETRY_LIMIT) {
+      this.symmetry = BoardSymmetry.of(shape, model.getRadius());
+      this.fills = new FillType[model.getNumTiles()];
+    } else {
+      this.symmetry = null;
+      this.fills = null;
+    }
+    int[][] cornerCoords = cornersOf(shape, model.getRadius());
+    this.corners = new int[cornerCoords.length];
+    this.nearCorners = new int[cornerCoords.length][];
+    for (int i = 0; i < cornerCoords.length; i++) {
+      int q = cornerCoords[i][0];
+      int r = cornerCoords[i][1];
+      this.corners[i] = model.getIndexOf(q, r, sOf(shape, q, r));
+      int[] near = new int[8];
+      int count = 0;
+      for (int dq = -1; dq <= 1; dq++) {
+        for (int dr = -1; dr <= 1; dr++) {
+          // hexagonal tiles only touch along six of the eight directions
+          boolean adjacent = shape == BoardShape.HEX ? dq != dr : dq != 0 || dr != 0;
+          int s = sOf(shape, q + dq, r + dr);
+          if (adjacent && model.doCoordsExist(q + dq, r + dr, s)) {
+            near[count++] = model.getIndexOf(q + dq, r + dr, s);
+          }
+        }
+      }
+      this.nearCorners[i] = Arrays.copyOf(near, count);
+    }
+    this.table = table;
+  }
+
+  // the (q, r) coordinates of the corners of a board of the given shape and radius
+  private static int[][] cornersOf(BoardShape shape, int radius) {
+    if (shape == BoardShape.HEX) {
+      int n = radius - 1;
+      return new int[][]{{n, -n}, {n, 0}, {0, n}, {-n, n}, {-n, 0}, {0, -n}};
+    }
+    int n = 2 * radius - 1;
+    return new int[][]{{0, 0}, {0, n}, {n, 0}, {n, n}};
+  }
+
+  // the s coordinate of (q, r) on a board of the given shape, which square boards ignore
+  private static int sOf(BoardShape shape, int q, int r) {
+    return shape == BoardShape.HEX ? -q - r : 0;
+  }
+
+  @Override
+  public void playNextMove() {
+    if (!model.isGameOver()) {
+      int move = this.chooseMove();
+      if (move < 0) {
+        model.pass();
+      } else {
+        Tile tile = model.getTileAtIndex(move);
+        model.placeTile(tile.getQorX(), tile.getRorY(), tile.getS());
+      }
+      emitMoved();
+    }
+  }
+
+  /**
+   * Searches the current position within the budget and returns the move this AI would make,
+   * without making it.
+   *
+   * @return index of the tile to place on, or -1 to pass
+   */
+  public int chooseMove() {
+    this.board = this.model.getCopy();
+    int[] moves = this.board.getLegalMoves();
+    if (moves.length <= 1) {
+      return moves.length == 0 ? -1 : moves[0];
+    }
+    if (this.symmetry != null) {
+      this.board.readFills(this.fills);
+      moves = this.symmetry.uniqueMoves(this.fills, moves);
+    }
+    this.orderMoves(moves);
+    this.nodes = 0;
+    this.stopped = false;
+    this.deadline = this.millisPerMove > 0
+            ? System.nanoTime() + this.millisPerMove * 1_000_000 : Long.MAX_VALUE;
+    int best = moves[0];
+    int score = 0;
+    // every move fills a tile, so searching as deep as there are empty tiles reaches the end
+    int empties = this.board.getNumTiles() - this.board.getScore(PlayerTurn.WHITE)
+            - this.board.getScore(PlayerTurn.BLACK);
+    for (int depth = 1; depth <= empties && !this.stopped; depth++) {
+      int alpha = depth == 1 ? -INFINITY : score - ASPIRATION;
+      int beta = depth == 1 ? INFINITY : score + ASPIRATION;
+      this.exact = true;
+      int found = this.searchRoot(moves, depth, alpha, beta);
+      if (!this.stopped && (found <= alpha || found >= beta)) {
+        // the score fell outside the window, so search again with nothing ruled out
+        this.exact = true;
+        found = this.searchRoot(moves, depth, -INFINITY, INFINITY);
+      }
+      if (this.rootMove >= 0) {
+        best = this.rootMove;
+        moveToFront(moves, best);
+      }
+      score = found;
+      if (this.exact) {
+        // every line reached the end of the game, so searching deeper changes nothing
+        break;
+      }
+    }
+    this.board = null;
+    return best;
+  }
+
+  // searches every root move, setting rootMove to the best one found that beats alpha, and
+  // keeping only moves whose search finished if the budget runs out partway
+  private int searchRoot(int[] moves, int depth, int alpha, int beta) {
+    this.rootMove = -1;
+    int best = -INFINITY;
+    for (int i = 0; i < moves.length; i++) {
+      int score = this.searchChild(moves[i], i == 0, depth, alpha, beta);
+      if (this.stopped) {
+        break;
+      }
+      best = Math.max(best, score);
+      if (score > alpha) {
+        alpha = score;
+        this.rootMove = moves[i];
+        if (alpha >= beta) {
+          break;
+        }
+      }
+    }
+    return best;
+  }
+
+  // scores the position from the side of the player to move, searching depth more moves
+  private int negamax(int depth, int alpha, int beta) {
+    this.nodes++;
+    if ((this.nodesPerMove > 0 && this.nodes >= this.nodesPerMove)
+            || (this.nodes % CHECK_INTERVAL == 0 && System.nanoTime() >= this.deadline)) {
+      this.stopped = true;
+    }
+    if (this.stopped) {
+      return 0;
+    }
+    int[] moves = this.board.getLegalMoves();
+    if (moves.length == 0) {
+      if (this.board.isGameOver()) {
+        return this.finalScore();
+      }
+      // a forced pass, which does not use up depth since it leaves nothing to choose
+      UndoRecord record = this.board.makePass();
+      int score = -this.negamax(depth, -beta, -alpha);
+      this.board.unmakeMove(record);
+      return score;
+    }
+    if (depth <= 0) {
+      this.exact = false;
+      return this.evaluate(moves.length);
+    }
+    long hash = 0;
+    int hashMove = -1;
+    int originalAlpha = alpha;
+    if (this.table != null) {
+      hash = this.board.getPositionHash();
+      long entry = this.table.probe(hash);
+      if (entry != 0) {
+        hashMove = TranspositionTable.moveOf(entry);
+        if (TranspositionTable.depthOf(entry) >= depth) {
+          int stored = TranspositionTable.scoreOf(entry);
+          int bound = TranspositionTable.boundOf(entry);
+          if (bound == TranspositionTable.EXACT
+                  || (bound == TranspositionTable.LOWER_BOUND && stored >= beta)
+                  || (bound == TranspositionTable.UPPER_BOUND && stored <= alpha)) {
+            // the entry may hide positions left unfinished, so this search is no longer exact
+            this.exact = false;
+            return stored;
+          }
+        }
+      }
+    }
+    this.orderMoves(moves);
+    if (hashMove >= 0) {
+      moveToFront(moves, hashMove);
+    }
+    int best = -INFINITY;
+    int bestMove = -1;
+    for (int i = 0; i < moves.length; i++) {
+      int score = this.searchChild(moves[i], i == 0, depth, alpha, beta);
+      if (this.stopped) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        bestMove = moves[i];
+      }
+      alpha = Math.max(alpha, score);
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    if (this.table != null && Math.abs(best) <= TranspositionTable.MAX_SCORE) {
+      int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+              : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+      this.table.store(hash, bestMove, best, depth, bound);
+    }
+    return best;
+  }
+
+  // plays move and scores it, searching the first move with the full window and the rest with
+  // a null window that only proves them worse, searching again if one turns out better
+  private int searchChild(int move, boolean first, int depth, int alpha, int beta) {
+    Tile tile = this.board.getTileAtIndex(move);
+    UndoRecord record = this.board.makeMove(tile.getQorX(), tile.getRorY(), tile.getS());
+    int score;
+    if (first) {
+      score = -this.negamax(depth - 1, -beta, -alpha);
+    } else {
+      score = -this.negamax(depth - 1, -alpha - 1, -alpha);
+      if (score > alpha && score < beta && !this.stopped) {
+        score = -this.negamax(depth - 1, -beta, -alpha);
+      }
+    }
+    this.board.unmakeMove(record);
+    return score;
+  }
+
+  // scores a finished game by its final margin, any win beating every unfinished position
+  private int finalScore() {
+    PlayerTurn toMove = this.board.getPlayerTurn();
+    int margin = this.board.getScore(toMove) - this.board.getScore(toMove.flip());
+    if (margin > 0) {
+      return WIN + margin;
+    } else if (margin < 0) {
+      return -WIN + margin;
+    }
+    return 0;
+  }
+
+  // scores an unfinished position from the side of the player to move, who has numMoves moves
+  private int evaluate(int numMoves) {
+    PlayerTurn toMove = this.board.getPlayerTurn();
+    FillType mine = this.board.getFillTypeOfPlayerTurn(toMove);
+    int score = this.board.getScore(toMove) - this.board.getScore(toMove.flip());
+    for (int i = 0; i < this.corners.length; i++) {
+      FillType corner = this.board.getFillAtIndex(this.corners[i]);
+      if (corner != FillType.EMPTY) {
+        score += corner == mine ? CORNER : -CORNER;
+        continue;
+      }
+      for (int near : this.nearCorners[i]) {
+        FillType fill = this.board.getFillAtIndex(near);
+        if (fill != FillType.EMPTY) {
+          score += fill == mine ? NEAR_CORNER : -NEAR_CORNER;
+        }
+      }
+    }
+    // passing hands the move over without changing the board, so the other player's moves
+    // can be counted the same way
+    UndoRecord pass = this.board.makePass();
+    int theirMoves = this.board.getLegalMoves().length;
+    this.board.unmakeMove(pass);
+    return score + MOBILITY * (numMoves - theirMoves);
+  }
+
+  // how much more than any other tile holding the tile at index is worth on the board being
+  // searched: a corner is worth the most, and a tile next to an empty corner the least
+  private int weightOf(int index) {
+    for (int corner : this.corners) {
+      if (corner == index) {
+        return CORNER;
+      }
+    }
+    for (int i = 0; i < this.corners.length; i++) {
+      for (int near : this.nearCorners[i]) {
+        if (near == index && this.board.getFillAtIndex(this.corners[i]) == FillType.EMPTY) {
+          return NEAR_CORNER;
+        }
+      }
+    }
+    return 0;
+  }
+
+  // sorts moves so the tiles worth the most are tried first, since they cut off the most
+  private void orderMoves(int[] moves) {
+    for (int i = 1; i < moves.length; i++) {
+      int move = moves[i];
+      int weight = this.weightOf(move);
+      int j = i - 1;
+      while (j >= 0 && this.weightOf(moves[j]) < weight) {
+        moves[j + 1] = moves[j];
+        j--;
+      }
+      moves[j + 1] = move;
+    }
+  }
+
+  // moves the given move to the front, keeping the others in order
+  private static void moveToFront(int[] moves, int move) {
+    for (int i = 0; i < moves.length; i++) {
+      if (moves[i] == move) {
+        System.arraycopy(moves, 0, moves, 1, i);
+        moves[0] = move;
+        return;
+      }
+    }
+  }
+
+  @Override
+  public PlayerTurn getPlayerTurn() {
+    return this.pt;
+  }
+
+  @Override
+  public void addPlayerListener(PlayerListener pl) {
+    this.listeners.add(pl);
+  }
+
+  private void emitMoved() {
+    for (PlayerListener pl : this.listeners) {
+      pl.justMoved();
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package controller;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
+import model.AsyncModelListener;
 import model.IReversiModel;
 import model.PlayerTurn;
+import model.PositionSummary;
 import view.IReversiGUI;
 
 /**
@@ -23,9 +26,10 @@ public class ReversiController implements IReversiController {
    */
   IReversiGUI view;
   /**
-   * tracks whether it is this ReversiController's turn.
+   * tracks whether it is this ReversiController's turn, set where turns are delivered and read
+   * on the Swing thread when the user clicks.
    */
-  private boolean thisTurn;
+  private volatile boolean thisTurn;
 
   /**
    * Constructor for a ReversiController, including adding itslf as a listener to all,
@@ -36,10 +40,25 @@ public class ReversiController implements IReversiController {
    * @param view   a ReversiWindow
    */
   public ReversiController(IReversiModel model, IReversiPlayer player, IReversiGUI view) {
+    this(model, player, view, null);
+  }
+
+  /**
+   * Constructor for a ReversiController that can be told about turns on an executor instead of
+   * inside the move that caused them, so a slow view or player doesn't hold up the game. Turns
+   * it falls behind on are collapsed into the latest one.
+   *
+   * @param model  an IReversiModel
+   * @param player an IReversiPlayer
+   * @param view   a ReversiWindow
+   * @param turns  executor to be told about turns on, or null to be told inside each move
+   */
+  public ReversiController(IReversiModel model, IReversiPlayer player, IReversiGUI view,
+                           Executor turns) {
     this.model = Objects.requireNonNull(model);
     this.view = Objects.requireNonNull(view);
     this.player = Objects.requireNonNull(player);
-    this.model.addModelListener(this);
+    this.model.addModelListener(turns == null ? this : new AsyncModelListener(this, turns));
     this.view.addTileClickedListener(this);
     this.player.addPlayerListener(this);
     this.thisTurn = false;
@@ -62,14 +81,15 @@ public class ReversiController implements IReversiController {
   }
 
   private void runGameOver() {
-    int whiteScore = this.model.getScore(PlayerTurn.WHITE);
-    int blackScore = this.model.getScore(PlayerTurn.BLACK);
+    PositionSummary summary = this.model.getPositionSummary();
+    int whiteScore = summary.getScore(PlayerTurn.WHITE);
+    int blackScore = summary.getScore(PlayerTurn.BLACK);
     thisTurn = false;
     String endMessage;
-    if (whiteScore > blackScore) {
-      endMessage = "WHITE WINS!";
-    } else if (whiteScore == blackScore) {
+    if (summary.isTied()) {
       endMessage = "IT'S A TIE!";
+    } else if (summary.getLeader() == PlayerTurn.WHITE) {
+      endMessage = "WHITE WINS!";
     } else {
       endMessage = "BLACK WINS!";
     }
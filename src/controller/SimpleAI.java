@@ -6,6 +6,7 @@ import java.util.Objects;
 
 import model.IReversiModel;
 import model.PlayerTurn;
+import model.Tile;
 
 /**
  * Represents an AI that uses a basic strategy to play Reversi.
@@ -36,17 +37,18 @@ public class SimpleAI implements IReversiPlayer {
       int maxTileGain = 0;
       int maxQ = this.model.getRadius();
       int maxR = this.model.getRadius(); // invalid position, so will pass if nothing updates this
-      for (int q = -model.getRadius() + 1; q < 2 * model.getRadius(); q++) {
-        for (int r = -model.getRadius() + 1; r < 2 * model.getRadius(); r++) {
-          if (model.doCoordsExist(q, r, - q - r)) {
-            int scoreDiff = this.model.countFlipsForMove(q, r, -q - r);
-            if (scoreDiff > maxTileGain
-                    || (scoreDiff == maxTileGain && (r < maxR || (maxR == r && q < maxQ)))) {
-              maxTileGain = scoreDiff;
-              maxQ = q;
-              maxR = r;
-            }
-          }
+      // only legal moves can gain anything, so skip every other tile
+      int[] flips = model.getFlipCounts();
+      for (int i = model.nextLegalMove(0); i >= 0; i = model.nextLegalMove(i + 1)) {
+        Tile tile = model.getTileAtIndex(i);
+        int q = tile.getQorX();
+        int r = tile.getRorY();
+        int scoreDiff = flips[i] + 1; // the placed tile counts towards the points gained
+        if (scoreDiff > maxTileGain
+                || (scoreDiff == maxTileGain && (r < maxR || (maxR == r && q < maxQ)))) {
+          maxTileGain = scoreDiff;
+          maxQ = q;
+          maxR = r;
         }
       }
       if (maxTileGain == 0) {
@@ -0,0 +1,753 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A class representing the shared game flow of all Reversi models, regardless of the shape of
+ * the board or how the board is stored. Keeps track of the player turn, radius, listeners and
+ * each turn's past state, and leaves the board itself to subclasses through a small set of
+ * index-based methods. Every tile on the board has an index from 0 to getNumTiles() - 1.
+ */
+public abstract class AReversiModel implements IReversiModel {
+  /**
+   * The radius of the game board.
+   */
+  protected final int radius;
+  /**
+   * A boolean to monitor whether the game has been started or not.
+   */
+  protected boolean isStarted;
+  /**
+   * Every move of the game so far: the index of the tile placed on, or MoveHistory.PASS.
+   */
+  protected final MoveHistory history;
+  /**
+   * An enum to track whose turn it is currently to play.
+   */
+  protected PlayerTurn player;
+  /**
+   * list of listeners of the model.
+   */
+  private final List<ModelNotificationListener> listeners;
+  /**
+   * Scratch space for the indices of the tiles flipped by makeMove, sized on first use.
+   */
+  private int[] flipBuffer;
+  /**
+   * Number of tiles owned by white and by black, counted on first use and kept up to date by
+   * every move from then on. -1 until counted.
+   */
+  private int whiteDiscs;
+  private int blackDiscs;
+  /**
+   * The legal moves of white and of black in the current position, or null until they are
+   * needed. Cleared whenever the board changes.
+   */
+  private int[] whiteMoves;
+  private int[] blackMoves;
+  /**
+   * Whether the game is over in the current position, or null until it is needed. Cleared
+   * whenever the board or the passes change.
+   */
+  private Boolean gameOver;
+  /**
+   * Whether listeners have already been told the game is over, so they are told only once.
+   */
+  private boolean overAnnounced;
+  /**
+   * Bumped every time the position changes, for getVersion.
+   */
+  private long version;
+  /**
+   * The Zobrist hash of the taken tiles, without the side to move, kept up to date by every
+   * move once hashKnown. seed is the board's Zobrist seed, found along with the first hash.
+   */
+  private long boardHash;
+  private long seed;
+  private boolean hashKnown;
+
+  /**
+   * Constructor for the shared state of a model.
+   *
+   * @param radius    the radius of the board
+   * @param history   every move made so far
+   * @param pt        current playerTurn
+   * @param isStarted whether the game has already been started
+   */
+  protected AReversiModel(int radius, MoveHistory history, PlayerTurn pt, boolean isStarted) {
+    this.radius = radius;
+    this.history = Objects.requireNonNull(history);
+    this.player = Objects.requireNonNull(pt);
+    this.isStarted = isStarted;
+    this.listeners = new ArrayList<>();
+    this.whiteDiscs = -1;
+    this.blackDiscs = -1;
+  }
+
+  /**
+   * Returns the index of the tile at the given coordinates.
+   * Assumes the coordinates exist on the board.
+   *
+   * @param q the q (or x) coordinate of the tile
+   * @param r the r (or y) coordinate of the tile
+   * @param s the s coordinate of the tile, ignored by boards that don't use it
+   * @return index of the tile
+   */
+  protected abstract int indexOf(int q, int r, int s);
+
+  /**
+   * Returns the FillType of the tile at the given index.
+   *
+   * @param index index of the tile
+   * @return FillType of the tile
+   */
+  protected abstract FillType fillAt(int index);
+
+  /**
+   * Counts the tiles that placing a tile of the given FillType at the given index would flip,
+   * without changing the board. Assumes the tile at the index is empty.
+   *
+   * @param index index of the tile being placed
+   * @param ft    the FillType being placed
+   * @return total number of tiles that would be flipped
+   */
+  protected abstract int countFlips(int index, FillType ft);
+
+  /**
+   * Places a tile of the given FillType at the given index and flips every tile it brackets.
+   * Assumes the tile at the index is empty.
+   *
+   * @param index   index of the tile being placed
+   * @param ft      the FillType being placed
+   * @param flipped if not null, filled with the index of every flipped tile
+   * @return number of tiles flipped
+   */
+  protected abstract int applyMove(int index, FillType ft, int[] flipped);
+
+  /**
+   * Sets the tile at the given index to the given FillType, without flipping anything.
+   *
+   * @param index index of the tile
+   * @param ft    the new FillType of the tile
+   */
+  protected abstract void setFill(int index, FillType ft);
+
+  /**
+   * Finds the index of every tile the given FillType could legally be placed on, by checking
+   * every empty tile. Subclasses that can rule out tiles cheaply should override this.
+   *
+   * @param ft the FillType to find moves for
+   * @return indices of the legal moves, in ascending order
+   */
+  protected int[] findLegalMoves(FillType ft) {
+    int[] moves = new int[this.getNumTiles()];
+    int count = 0;
+    for (int i = 0; i < this.getNumTiles(); i++) {
+      if (this.fillAt(i) == FillType.EMPTY && this.countFlips(i, ft) != 0) {
+        moves[count++] = i;
+      }
+    }
+    return Arrays.copyOf(moves, count);
+  }
+
+  /**
+   * Returns the index of every tile the given FillType could legally be placed on, found once
+   * per position and reused until the board changes. The array must not be modified.
+   *
+   * @param ft the FillType to find moves for
+   * @return indices of the legal moves, in ascending order
+   */
+  protected int[] legalMoves(FillType ft) {
+    if (ft == FillType.WHITE) {
+      if (this.whiteMoves == null) {
+        this.whiteMoves = this.findLegalMoves(ft);
+      }
+      return this.whiteMoves;
+    }
+    if (this.blackMoves == null) {
+      this.blackMoves = this.findLegalMoves(ft);
+    }
+    return this.blackMoves;
+  }
+
+  /**
+   * Returns whether the given FillType can be placed anywhere on the board.
+   *
+   * @param ft the FillType to check for
+   * @return whether a valid move exists for ft
+   */
+  protected boolean hasValidMove(FillType ft) {
+    return this.legalMoves(ft).length != 0;
+  }
+
+  /**
+   * Returns the positions of the set bits of a bitboard, in ascending order.
+   *
+   * @param board the bitboard
+   * @return positions of its set bits
+   */
+  protected static int[] bitIndices(long board) {
+    int[] indices = new int[Long.bitCount(board)];
+    for (int i = 0; board != 0; board &= board - 1) {
+      indices[i++] = Long.numberOfTrailingZeros(board);
+    }
+    return indices;
+  }
+
+  // forgets everything cached about the position after the board changes
+  private void boardChanged() {
+    this.version++;
+    this.whiteMoves = null;
+    this.blackMoves = null;
+    this.gameOver = null;
+  }
+
+  // forgets whether the game is over after a pass is made or taken back
+  private void passesChanged() {
+    this.version++;
+    this.gameOver = null;
+  }
+
+  /**
+   * Returns the index of the tile at the given coordinates.
+   *
+   * @param q the q (or x) coordinate of the tile
+   * @param r the r (or y) coordinate of the tile
+   * @param s the s coordinate of the tile, ignored by boards that don't use it
+   * @return index of the tile
+   * @throws IllegalArgumentException if the coordinates are not on the board
+   */
+  protected int checkedIndexOf(int q, int r, int s) throws IllegalArgumentException {
+    if (!this.doCoordsExist(q, r, s)) {
+      throw new IllegalArgumentException("Invalid coordinates (q, r, s): "
+              + q + ", " + r + ", " + s);
+    }
+    return this.indexOf(q, r, s);
+  }
+
+  /**
+   * Throw an exception if the game has not started yet.
+   *
+   * @throws IllegalStateException if the game has not started
+   */
+  protected void throwIfNotStarted() throws IllegalStateException {
+    if (!this.isStarted) {
+      throw new IllegalStateException("Game has not been started.");
+    }
+  }
+
+  /**
+   * Throw an exception if the index is not on the board.
+   *
+   * @param index index of a tile
+   * @throws IllegalArgumentException if there is no tile at the index
+   */
+  protected void throwIfBadIndex(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= this.getNumTiles()) {
+      throw new IllegalArgumentException("No tile at index: " + index);
+    }
+  }
+
+  @Override
+  public boolean isGameOver() throws IllegalStateException {
+    throwIfNotStarted();
+    if (this.gameOver == null) {
+      this.gameOver = this.findGameOver();
+    }
+    return this.gameOver;
+  }
+
+  // works out whether the game is over, checking the cheap conditions first
+  private boolean findGameOver() {
+    this.countDiscsIfNeeded();
+    if (this.whiteDiscs == 0 || this.blackDiscs == 0
+            || this.whiteDiscs + this.blackDiscs == this.getNumTiles()) {
+      // nobody can flip anything on a full board, or against a player with no tiles
+      return true;
+    }
+
+    int size = this.history.size();
+    if (size >= 2 && this.history.isPass(size - 1) && this.history.isPass(size - 2)) {
+      // end game if both players have passed
+      return true;
+    }
+
+    // end game if neither player can move
+    return !this.hasValidMove(FillType.WHITE) && !this.hasValidMove(FillType.BLACK);
+  }
+
+  // tells listeners the game is over if it is and they have not been told yet, and otherwise
+  // whose turn it is
+  private void announceTurn() {
+    if (this.isGameOver()) {
+      if (!this.overAnnounced) {
+        this.overAnnounced = true;
+        emitPlayerTurnNotification(PlayerTurn.OVER);
+      }
+    } else {
+      emitPlayerTurnNotification(this.player);
+    }
+  }
+
+  @Override
+  public ArrayList<Tile> copyTiles() {
+    ArrayList<Tile> toReturn = new ArrayList<>(this.getNumTiles());
+    for (int i = 0; i < this.getNumTiles(); i++) { // make a deep copy of current tiles
+      toReturn.add(this.getTileAtIndex(i).getClone());
+    }
+    return toReturn;
+  }
+
+  @Override
+  public Tile getTileAt(int q, int r, int s)
+          throws IllegalArgumentException, IllegalStateException {
+    return this.getTileAtIndex(this.checkedIndexOf(q, r, s));
+  }
+
+  @Override
+  public int getIndexOf(int q, int r, int s) throws IllegalArgumentException {
+    return this.checkedIndexOf(q, r, s);
+  }
+
+  @Override
+  public void pass() throws IllegalStateException {
+    throwIfNotStarted();
+    this.history.add(MoveHistory.PASS);
+    this.passesChanged();
+    if (!this.isGameOver()) {
+      // Changes whose turn it is
+      this.player = this.player.flip();
+    }
+    this.announceTurn();
+  }
+
+  @Override
+  public void placeTile(int q, int r, int s)
+          throws IllegalArgumentException, IllegalStateException {
+    throwIfNotStarted();
+
+    if (!this.isMoveValid(q, r, s)) {
+      throw new IllegalStateException("Invalid move (q, r, s): " + q + ", " + r + ", " + s);
+    }
+
+    FillType ft = this.getFillTypeOfPlayerTurn(this.player);
+    int index = this.indexOf(q, r, s);
+    int flips = this.applyMove(index, ft, this.flipBuffer());
+    this.updateDiscCounts(ft, flips, 1);
+    this.updateHash(index, ft, this.flipBuffer, flips);
+    this.boardChanged();
+
+    this.player = this.player.flip();
+    this.history.add(index);
+    this.announceTurn();
+  }
+
+  @Override
+  public UndoRecord makeMove(int q, int r, int s)
+          throws IllegalArgumentException, IllegalStateException {
+    throwIfNotStarted();
+    int index = this.checkedIndexOf(q, r, s);
+    if (this.fillAt(index) != FillType.EMPTY
+            || this.countFlips(index, this.getFillTypeOfPlayerTurn(this.player)) == 0) {
+      throw new IllegalStateException("Invalid move (q, r, s): " + q + ", " + r + ", " + s);
+    }
+    int flips = this.applyMove(index, this.getFillTypeOfPlayerTurn(this.player),
+            this.flipBuffer());
+    this.updateDiscCounts(this.getFillTypeOfPlayerTurn(this.player), flips, 1);
+    this.updateHash(index, this.getFillTypeOfPlayerTurn(this.player), this.flipBuffer, flips);
+    this.boardChanged();
+    UndoRecord record = new UndoRecord(index, Arrays.copyOf(this.flipBuffer, flips),
+            this.player, this.history.size());
+    this.player = this.player.flip();
+    this.history.add(index);
+    return record;
+  }
+
+  @Override
+  public UndoRecord makePass() throws IllegalStateException {
+    throwIfNotStarted();
+    UndoRecord record = new UndoRecord(-1, new int[0], this.player, this.history.size());
+    this.player = this.player.flip();
+    this.history.add(MoveHistory.PASS);
+    this.passesChanged();
+    return record;
+  }
+
+  @Override
+  public void unmakeMove(UndoRecord record)
+          throws IllegalArgumentException, IllegalStateException {
+    throwIfNotStarted();
+    Objects.requireNonNull(record);
+    int last = this.history.size() - 1;
+    if (record.getPly() != last || this.history.isPass(last) != record.isPass()) {
+      throw new IllegalArgumentException("Moves must be undone in the reverse order they were "
+              + "made.");
+    }
+    if (!record.isPass()) {
+      FillType theirs = this.getFillTypeOfPlayerTurn(record.getPlayer().flip());
+      for (int i = 0; i < record.getNumFlipped(); i++) {
+        this.setFill(record.getFlipped(i), theirs);
+      }
+      this.setFill(record.getIndex(), FillType.EMPTY);
+      this.updateDiscCounts(this.getFillTypeOfPlayerTurn(record.getPlayer()),
+              record.getNumFlipped(), -1);
+      if (this.hashKnown) {
+        // XOR undoes itself, so taking the move back toggles the same keys
+        FillType mine = this.getFillTypeOfPlayerTurn(record.getPlayer());
+        this.boardHash ^= Zobrist.key(this.seed, record.getIndex(), mine);
+        for (int i = 0; i < record.getNumFlipped(); i++) {
+          this.boardHash ^= Zobrist.key(this.seed, record.getFlipped(i), mine)
+                  ^ Zobrist.key(this.seed, record.getFlipped(i), theirs);
+        }
+      }
+      this.boardChanged();
+    }
+    this.history.removeLast();
+    this.passesChanged();
+    this.player = record.getPlayer();
+    // the position may be played out differently from here
+    this.overAnnounced = false;
+  }
+
+  @Override
+  public int countFlipsForMove(int q, int r, int s) {
+    int flips = this.countFlipsIfEmpty(this.checkedIndexOf(q, r, -q - r));
+    // the placed tile counts towards the points gained, but only if the move is legal
+    return flips == 0 ? 0 : flips + 1;
+  }
+
+  @Override
+  public boolean isMoveValid(int q, int r, int s) {
+    return this.countFlipsIfEmpty(this.checkedIndexOf(q, r, s)) != 0;
+  }
+
+  /**
+   * Counts the tiles the current player would flip by placing at the given index, or 0 if that
+   * tile is already taken.
+   *
+   * @param index index of the tile being placed
+   * @return number of tiles flipped by the move
+   */
+  private int countFlipsIfEmpty(int index) {
+    if (this.fillAt(index) != FillType.EMPTY) {
+      return 0;
+    }
+    return this.countFlips(index, this.getFillTypeOfPlayerTurn(this.player));
+  }
+
+  // adds (sign = 1) or takes back (sign = -1) a move by ft that flipped the given number of
+  // tiles to the disc counts, if they have been counted yet
+  private void updateDiscCounts(FillType ft, int flips, int sign) {
+    if (this.whiteDiscs < 0) {
+      return;
+    }
+    int gained = sign * (flips + 1);
+    int lost = sign * flips;
+    if (ft == FillType.WHITE) {
+      this.whiteDiscs += gained;
+      this.blackDiscs -= lost;
+    } else {
+      this.blackDiscs += gained;
+      this.whiteDiscs -= lost;
+    }
+  }
+
+  // returns the scratch space for flipped indices, making it on first use. A move flips tiles
+  // along at most one line per pair of opposite directions, and a line of a hexagonal board
+  // holds at most 2 * radius - 1 tiles, of a square board 2 * radius
+  private int[] flipBuffer() {
+    if (this.flipBuffer == null) {
+      int lines = this.getShape() == BoardShape.HEX ? 3 : 4;
+      int lineLength = this.getShape() == BoardShape.HEX ? 2 * this.radius - 1 : 2 * this.radius;
+      this.flipBuffer = new int[Math.min(this.getNumTiles(), lines * lineLength)];
+    }
+    return this.flipBuffer;
+  }
+
+  // adds a move by ft at index that flipped the first flips tiles of flipped to the position
+  // hash, if it has been found yet
+  private void updateHash(int index, FillType ft, int[] flipped, int flips) {
+    if (!this.hashKnown) {
+      return;
+    }
+    FillType theirs = ft == FillType.WHITE ? FillType.BLACK : FillType.WHITE;
+    this.boardHash ^= Zobrist.key(this.seed, index, ft);
+    for (int i = 0; i < flips; i++) {
+      this.boardHash ^= Zobrist.key(this.seed, flipped[i], ft)
+              ^ Zobrist.key(this.seed, flipped[i], theirs);
+    }
+  }
+
+  @Override
+  public long getPositionHash() {
+    if (!this.hashKnown) {
+      this.seed = Zobrist.seed(this.getShape(), this.radius);
+      long hash = 0;
+      for (int i = 0; i < this.getNumTiles(); i++) {
+        FillType ft = this.fillAt(i);
+        if (ft != FillType.EMPTY) {
+          hash ^= Zobrist.key(this.seed, i, ft);
+        }
+      }
+      this.boardHash = hash;
+      this.hashKnown = true;
+    }
+    return this.player == PlayerTurn.BLACK ? this.boardHash ^ Zobrist.BLACK_TO_MOVE
+            : this.boardHash;
+  }
+
+  /**
+   * Takes the disc counts, position hash and version of another model holding the same
+   * position, so a copy doesn't have to scan its board to find them again and reports the same
+   * version as the position it was copied from.
+   *
+   * @param other the model this one is a copy of
+   */
+  protected void copyCachesFrom(AReversiModel other) {
+    this.version = other.version;
+    this.whiteDiscs = other.whiteDiscs;
+    this.blackDiscs = other.blackDiscs;
+    this.boardHash = other.boardHash;
+    this.seed = other.seed;
+    this.hashKnown = other.hashKnown;
+  }
+
+  // counts the tiles of each player with one scan of the board if that has not been done yet
+  private void countDiscsIfNeeded() {
+    if (this.whiteDiscs >= 0) {
+      return;
+    }
+    int white = 0;
+    int black = 0;
+    for (int i = 0; i < this.getNumTiles(); i++) {
+      FillType ft = this.fillAt(i);
+      if (ft == FillType.WHITE) {
+        white++;
+      } else if (ft == FillType.BLACK) {
+        black++;
+      }
+    }
+    this.whiteDiscs = white;
+    this.blackDiscs = black;
+  }
+
+  @Override
+  public PackedBoard toPackedBoard() {
+    FillType[] fills = new FillType[this.getNumTiles()];
+    for (int i = 0; i < fills.length; i++) {
+      fills[i] = this.fillAt(i);
+    }
+    return PackedBoard.encode(this.getShape(), this.radius, fills, this.player, this.isStarted,
+            this.history.lastPasses());
+  }
+
+  /**
+   * Replaces the position of this model with a packed one, for constructors that load a
+   * position. Listeners are not notified.
+   *
+   * @param board the position to load
+   * @throws IllegalArgumentException if the board is not the same shape and radius as this one
+   */
+  protected void loadPackedBoard(PackedBoard board) throws IllegalArgumentException {
+    if (board.getShape() != this.getShape() || board.getRadius() != this.radius) {
+      throw new IllegalArgumentException("Packed board is a " + board.getShape() + " board of "
+              + "radius " + board.getRadius() + ", not a " + this.getShape() + " board of radius "
+              + this.radius + ".");
+    }
+    for (int i = 0; i < this.getNumTiles(); i++) {
+      this.setFill(i, board.getFill(i));
+    }
+    // only whether the last two moves were passes is packed, so placements are UNKNOWN
+    this.history.clear();
+    for (boolean passed : board.getLastPasses()) {
+      this.history.add(passed ? MoveHistory.PASS : MoveHistory.UNKNOWN);
+    }
+    this.player = board.getPlayerTurn();
+    this.isStarted = board.isStarted();
+    this.whiteDiscs = -1;
+    this.blackDiscs = -1;
+    this.hashKnown = false;
+    this.boardChanged();
+  }
+
+  @Override
+  public int[] getLegalMoves() {
+    return this.legalMoves(this.getFillTypeOfPlayerTurn(this.player)).clone();
+  }
+
+  @Override
+  public int nextLegalMove(int from) {
+    int[] moves = this.legalMoves(this.getFillTypeOfPlayerTurn(this.player));
+    int slot = Arrays.binarySearch(moves, from);
+    if (slot < 0) {
+      slot = -slot - 1;
+    }
+    return slot < moves.length ? moves[slot] : -1;
+  }
+
+  @Override
+  public int[] getFlipCounts() {
+    return this.findFlipCounts(this.getFillTypeOfPlayerTurn(this.player));
+  }
+
+  @Override
+  public FillType getFillAtIndex(int index) throws IllegalArgumentException {
+    throwIfBadIndex(index);
+    return this.fillAt(index);
+  }
+
+  @Override
+  public void readFills(FillType[] dest) throws IllegalArgumentException {
+    throwIfShort(dest);
+    for (int i = 0; i < this.getNumTiles(); i++) {
+      dest[i] = this.fillAt(i);
+    }
+  }
+
+  /**
+   * Throws if the given array cannot hold the FillType of every tile.
+   *
+   * @param dest the array to check
+   * @throws IllegalArgumentException if dest is shorter than getNumTiles()
+   */
+  protected void throwIfShort(FillType[] dest) throws IllegalArgumentException {
+    if (dest.length < this.getNumTiles()) {
+      throw new IllegalArgumentException("Array of " + dest.length + " fills can't hold "
+              + this.getNumTiles() + " tiles.");
+    }
+  }
+
+  @Override
+  public int[] getMoveHistory() {
+    return this.history.toArray();
+  }
+
+  /**
+   * Starts the game if it hasn't started and plays the given moves, for constructors that
+   * replay a recorded game. Moves are applied straight to the board, without the checks and
+   * caching of placeTile, and listeners are not notified.
+   *
+   * @param moves the moves to play, as getMoveHistory returns them, with -1 for a pass
+   * @throws IllegalArgumentException if a move is not legal, or is not known
+   */
+  protected void replay(int[] moves) throws IllegalArgumentException {
+    this.isStarted = true;
+    this.hashKnown = false;
+    for (int ply = 0; ply < moves.length; ply++) {
+      int move = moves[ply];
+      if (move == MoveHistory.PASS) {
+        this.history.add(MoveHistory.PASS);
+        this.passesChanged();
+        if (!this.isGameOver()) {
+          this.player = this.player.flip();
+        }
+        continue;
+      }
+      FillType ft = this.getFillTypeOfPlayerTurn(this.player);
+      if (move < 0 || move >= this.getNumTiles() || this.fillAt(move) != FillType.EMPTY
+              || this.countFlips(move, ft) == 0) {
+        throw new IllegalArgumentException("Move " + ply + " of the replay, at index " + move
+                + ", is not legal.");
+      }
+      int flips = this.applyMove(move, ft, null);
+      this.updateDiscCounts(ft, flips, 1);
+      this.boardChanged();
+      this.player = this.player.flip();
+      this.history.add(move);
+    }
+  }
+
+  @Override
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public boolean isStarted() {
+    return this.isStarted;
+  }
+
+  /**
+   * Counts the tiles each legal move of the given FillType would flip. Subclasses that can
+   * count every move at once should override this.
+   *
+   * @param ft the FillType being placed
+   * @return the number of tiles flipped by a move on each tile, 0 where it is not legal
+   */
+  protected int[] findFlipCounts(FillType ft) {
+    int[] counts = new int[this.getNumTiles()];
+    for (int index : this.legalMoves(ft)) {
+      counts[index] = this.countFlips(index, ft);
+    }
+    return counts;
+  }
+
+  @Override
+  public int getScore(PlayerTurn pt) {
+    this.countDiscsIfNeeded();
+    if (pt == PlayerTurn.WHITE) {
+      return this.whiteDiscs;
+    } else if (pt == PlayerTurn.BLACK) {
+      return this.blackDiscs;
+    }
+    return 0;
+  }
+
+  @Override
+  public PositionSummary getPositionSummary() {
+    this.countDiscsIfNeeded();
+    return new PositionSummary(this.whiteDiscs, this.blackDiscs,
+            this.getNumTiles() - this.whiteDiscs - this.blackDiscs, this.player,
+            this.history.size());
+  }
+
+  @Override
+  public PlayerTurn getPlayerTurn() {
+    return this.player;
+  }
+
+  @Override
+  public FillType getFillTypeOfPlayerTurn(PlayerTurn pt) {
+    FillType ft;
+    if (pt.equals(PlayerTurn.WHITE)) {
+      ft = FillType.WHITE;
+    } else {
+      ft = FillType.BLACK;
+    }
+    return ft;
+  }
+
+  @Override
+  public int getRadius() {
+    return this.radius;
+  }
+
+  @Override
+  public void startGame() throws IllegalArgumentException, IllegalStateException {
+    if (this.isStarted) {
+      throw new IllegalStateException("Game already started.");
+    }
+    this.isStarted = true;
+    this.version++;
+    emitPlayerTurnNotification(this.player);
+  }
+
+  @Override
+  public void addModelListener(ModelNotificationListener listener) {
+    this.listeners.add(Objects.requireNonNull(listener));
+  }
+
+  /**
+   * Notifies every listener of this model whose turn it is.
+   *
+   * @param pt the player whose turn it is, or OVER
+   */
+  protected void emitPlayerTurnNotification(PlayerTurn pt) {
+    for (ModelNotificationListener listener : this.listeners) {
+      listener.turnFor(pt);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A ModelNotificationListener that hands every turn on to another listener on an executor
+ * instead of on the thread that made the move, so a slow view or player does not hold up the
+ * model. Turns reach the listener one at a time and in the order they happened. If the listener
+ * falls behind, only the latest waiting turn is delivered, since every earlier one is already
+ * out of date. The executor is always the caller's, who also decides when to shut it down;
+ * passing SwingUtilities::invokeLater delivers turns on the Swing thread.
+ */
+public final class AsyncModelListener implements ModelNotificationListener {
+  private final ModelNotificationListener listener;
+  private final Executor executor;
+  /**
+   * The latest turn not yet delivered, or null.
+   */
+  private final AtomicReference<PlayerTurn> pending;
+  /**
+   * Whether a delivery task is queued or running, so at most one runs at a time.
+   */
+  private final AtomicBoolean running;
+
+  /**
+   * Constructor delivering turns to listener on the given executor.
+   *
+   * @param listener the listener to deliver turns to
+   * @param executor where to run the listener
+   */
+  public AsyncModelListener(ModelNotificationListener listener, Executor executor) {
+    this.listener = Objects.requireNonNull(listener);
+    this.executor = Objects.requireNonNull(executor);
+    this.pending = new AtomicReference<>();
+    this.running = new AtomicBoolean();
+  }
+
+  @Override
+  public void turnFor(PlayerTurn pt) {
+    this.pending.set(Objects.requireNonNull(pt));
+    if (this.running.compareAndSet(false, true)) {
+      this.executor.execute(this::deliver);
+    }
+  }
+
+  // hands the waiting turns to the listener until there are none left
+  private void deliver() {
+    try {
+      PlayerTurn pt;
+      while ((pt = this.pending.getAndSet(null)) != null) {
+        this.listener.turnFor(pt);
+      }
+    } finally {
+      this.running.set(false);
+      // a turn may have come in after the last check but before running was cleared
+      if (this.pending.get() != null && this.running.compareAndSet(false, true)) {
+        this.executor.execute(this::deliver);
+      }
+    }
+  }
+}
@@ -0,0 +1,276 @@
+package model;
+
+/**
+ * A model for hexagonal Reversi on boards of radius 5 or less, which have at most 61 tiles, that
+ * keeps each player's tiles in a single long. Bit i is set when the player owns the tile at index
+ * i of a HexReversiModel of the same radius.
+ * Flips are found with precomputed ray masks: for every tile and each of the six directions, a
+ * mask of the tiles from it to the edge of the board. Because the tile indices only ever grow or
+ * only ever shrink along a direction, the first tile on a ray that is not an opponent's is its
+ * lowest or highest set bit, and everything on the ray before it is flipped if that tile is ours.
+ */
+public class BitboardHexReversiModel extends AReversiModel {
+  /**
+   * The largest radius whose board fits in a single long.
+   */
+  public static final int MAX_RADIUS = 5;
+  /**
+   * For each direction of BoardTopology.HEX_DIRECTIONS, whether tile indices grow along it.
+   */
+  private static final boolean[] INCREASING = {true, false, false, true, true, false};
+  /**
+   * Ray tables for each supported radius, indexed by radius.
+   */
+  private static final RayTables[] TABLES = new RayTables[MAX_RADIUS + 1];
+
+  static {
+    for (int radius = 2; radius <= MAX_RADIUS; radius++) {
+      TABLES[radius] = new RayTables(BoardTopology.hex(radius));
+    }
+  }
+
+  /**
+   * Ray tables for the radius of this board.
+   */
+  private final RayTables rays;
+  /**
+   * Tiles owned by white.
+   */
+  private long white;
+  /**
+   * Tiles owned by black.
+   */
+  private long black;
+
+  /**
+   * Basic BitboardHexReversiModel constructor, sets up the starting board.
+   *
+   * @param radius the radius of the board, from 2 to MAX_RADIUS
+   * @throws IllegalArgumentException if the radius is out of that range
+   */
+  public BitboardHexReversiModel(int radius) {
+    super(radius, new MoveHistory(), PlayerTurn.WHITE, false);
+    if (radius < 2 || radius > MAX_RADIUS) {
+      throw new IllegalArgumentException("Invalid radius parameter");
+    }
+    this.rays = TABLES[radius];
+    this.black = bit(0, -1) | bit(1, 0) | bit(-1, 1);
+    this.white = bit(0, 1) | bit(1, -1) | bit(-1, 0);
+  }
+
+  /**
+   * Constructor that replays a recorded game, such as one saved with getMoveHistory, from the
+   * starting position without notifying anyone. The game is started.
+   *
+   * @param radius the radius of the hexagonal grid, from 2 to MAX_RADIUS
+   * @param moves  the moves to play, oldest first, with -1 for a pass
+   * @throws IllegalArgumentException if the board size is invalid or a move is not legal
+   */
+  public BitboardHexReversiModel(int radius, int[] moves) {
+    this(radius);
+    this.replay(moves);
+  }
+
+  /**
+   * Constructor that loads a packed position, such as one saved with toPackedBoard.
+   *
+   * @param board the position to load
+   * @throws IllegalArgumentException if the board is not a hexagonal board of a supported size
+   */
+  public BitboardHexReversiModel(PackedBoard board) {
+    this(board.getRadius());
+    this.loadPackedBoard(board);
+  }
+
+  private BitboardHexReversiModel(int radius, long white, long black, MoveHistory history,
+                                  PlayerTurn pt, boolean isStarted) {
+    super(radius, history, pt, isStarted);
+    this.rays = TABLES[radius];
+    this.white = white;
+    this.black = black;
+  }
+
+  private long bit(int q, int r) {
+    return 1L << this.rays.topology.indexOf(q, r, -q - r);
+  }
+
+  /**
+   * Finds every tile flipped when the owner of mine places on the tile at the given index.
+   *
+   * @param index  index of the tile being placed
+   * @param mine   tiles of the player to move
+   * @param theirs tiles of the opposing player
+   * @return a board with a bit set on every flipped tile
+   */
+  private long flipsFor(int index, long mine, long theirs) {
+    long[] cellRays = this.rays.rays[index];
+    long flips = 0L;
+    for (int dir = 0; dir < cellRays.length; dir++) {
+      long ray = cellRays[dir];
+      long blockers = ray & ~theirs;
+      if (INCREASING[dir]) {
+        long first = Long.lowestOneBit(blockers);
+        if ((first & mine) != 0) {
+          flips |= ray & (first - 1);
+        }
+      } else {
+        long first = Long.highestOneBit(blockers);
+        if ((first & mine) != 0) {
+          flips |= ray & ~((first << 1) - 1);
+        }
+      }
+    }
+    return flips;
+  }
+
+  private long tilesOf(FillType ft) {
+    return ft == FillType.WHITE ? this.white : this.black;
+  }
+
+  private long tilesAgainst(FillType ft) {
+    return ft == FillType.WHITE ? this.black : this.white;
+  }
+
+  @Override
+  public BoardShape getShape() {
+    return BoardShape.HEX;
+  }
+
+  @Override
+  protected int indexOf(int q, int r, int s) {
+    return this.rays.topology.indexOf(q, r, s);
+  }
+
+  @Override
+  protected FillType fillAt(int index) {
+    if ((this.white >>> index & 1L) != 0) {
+      return FillType.WHITE;
+    } else if ((this.black >>> index & 1L) != 0) {
+      return FillType.BLACK;
+    }
+    return FillType.EMPTY;
+  }
+
+  @Override
+  protected int countFlips(int index, FillType ft) {
+    return Long.bitCount(this.flipsFor(index, this.tilesOf(ft), this.tilesAgainst(ft)));
+  }
+
+  @Override
+  protected int applyMove(int index, FillType ft, int[] flipped) {
+    long move = 1L << index;
+    long flips = this.flipsFor(index, this.tilesOf(ft), this.tilesAgainst(ft));
+    if (ft == FillType.WHITE) {
+      this.white |= move | flips;
+      this.black &= ~flips;
+    } else {
+      this.black |= move | flips;
+      this.white &= ~flips;
+    }
+    if (flipped != null) {
+      int count = 0;
+      for (long left = flips; left != 0; left &= left - 1) {
+        flipped[count++] = Long.numberOfTrailingZeros(left);
+      }
+    }
+    return Long.bitCount(flips);
+  }
+
+  @Override
+  protected void setFill(int index, FillType ft) {
+    long bit = 1L << index;
+    this.white = ft == FillType.WHITE ? this.white | bit : this.white & ~bit;
+    this.black = ft == FillType.BLACK ? this.black | bit : this.black & ~bit;
+  }
+
+  // returns the empty tiles touching a tile of theirs, the only tiles that can flip anything
+  private long candidates(long mine, long theirs) {
+    long candidates = 0L;
+    for (long left = theirs; left != 0; left &= left - 1) {
+      candidates |= this.rays.neighbours[Long.numberOfTrailingZeros(left)];
+    }
+    return candidates & ~(mine | theirs);
+  }
+
+  @Override
+  protected int[] findLegalMoves(FillType ft) {
+    long mine = this.tilesOf(ft);
+    long theirs = this.tilesAgainst(ft);
+    long moves = 0L;
+    for (long left = this.candidates(mine, theirs); left != 0; left &= left - 1) {
+      int index = Long.numberOfTrailingZeros(left);
+      if (this.flipsFor(index, mine, theirs) != 0) {
+        moves |= 1L << index;
+      }
+    }
+    return bitIndices(moves);
+  }
+
+  @Override
+  protected boolean hasValidMove(FillType ft) {
+    long mine = this.tilesOf(ft);
+    long theirs = this.tilesAgainst(ft);
+    for (long left = this.candidates(mine, theirs); left != 0; left &= left - 1) {
+      if (this.flipsFor(Long.numberOfTrailingZeros(left), mine, theirs) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int getScore(PlayerTurn pt) {
+    return Long.bitCount(this.tilesOf(this.getFillTypeOfPlayerTurn(pt)));
+  }
+
+  @Override
+  public Tile getTileAtIndex(int index) throws IllegalArgumentException {
+    throwIfBadIndex(index);
+    return this.rays.topology.tile(index, this.fillAt(index));
+  }
+
+  @Override
+  public int getNumTiles() {
+    return this.rays.topology.size();
+  }
+
+  @Override
+  public IReversiModel getCopy() {
+    BitboardHexReversiModel copy = new BitboardHexReversiModel(this.radius, this.white,
+            this.black, new MoveHistory(this.history), this.player, this.isStarted);
+    copy.copyCachesFrom(this);
+    return copy;
+  }
+
+  @Override
+  public boolean doCoordsExist(int q, int r, int s) {
+    return this.rays.topology.contains(q, r, s);
+  }
+
+  /**
+   * The ray masks and neighbour masks of every tile on a board of one radius, built from the
+   * index rays of its topology.
+   */
+  private static final class RayTables {
+    private final BoardTopology topology;
+    private final long[][] rays;
+    private final long[] neighbours;
+
+    private RayTables(BoardTopology topology) {
+      this.topology = topology;
+      this.rays = new long[topology.size()][topology.numDirections()];
+      this.neighbours = new long[topology.size()];
+      for (int index = 0; index < topology.size(); index++) {
+        for (int dir = 0; dir < topology.numDirections(); dir++) {
+          int[] ray = topology.ray(index, dir);
+          for (int tile : ray) {
+            this.rays[index][dir] |= 1L << tile;
+          }
+          if (ray.length > 0) {
+            this.neighbours[index] |= 1L << ray[0];
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package model;
+
+/**
+ * A model for standard 8x8 Reversi, equivalent to a SquareReversiModel of radius 4, that keeps
+ * each player's tiles in a single long. Bit (x * 8 + y) is set when the player owns the tile at
+ * (x, y), so y runs along the bits of a byte and x picks the byte.
+ * Legal moves and flips are found for all tiles of a direction at once by shifting the whole
+ * board with a Kogge-Stone parallel prefix fill, instead of walking tile by tile.
+ */
+public class BitboardSquareReversiModel extends AReversiModel {
+  /**
+   * Number of tiles along a side of the board.
+   */
+  private static final int SIDE = 8;
+  /**
+   * The shared topology of an 8x8 board, whose tiles getTileAtIndex hands out.
+   */
+  private static final BoardTopology TOPOLOGY = BoardTopology.square(SIDE / 2);
+  /**
+   * Every tile except those with y == 0.
+   */
+  private static final long NOT_Y_FIRST = 0xFEFEFEFEFEFEFEFEL;
+  /**
+   * Every tile except those with y == 7.
+   */
+  private static final long NOT_Y_LAST = 0x7F7F7F7F7F7F7F7FL;
+  /**
+   * The eight directions as bit shifts, matching SquareReversiModel's (x, y) directions.
+   * Positive shifts move towards higher indices.
+   */
+  private static final int[] SHIFTS = {-1, 1, -SIDE, SIDE, SIDE - 1, -SIDE + 1,
+    -SIDE - 1, SIDE + 1};
+  /**
+   * For each entry of SHIFTS, the tiles a shift in that direction can land on without wrapping
+   * around from one edge of the board to the other.
+   */
+  private static final long[] LANDING_MASKS = {NOT_Y_LAST, NOT_Y_FIRST, -1L, -1L, NOT_Y_LAST,
+    NOT_Y_FIRST, NOT_Y_LAST, NOT_Y_FIRST};
+
+  /**
+   * Tiles owned by white.
+   */
+  private long white;
+  /**
+   * Tiles owned by black.
+   */
+  private long black;
+
+  /**
+   * Basic BitboardSquareReversiModel constructor, sets up the starting 8x8 board.
+   */
+  public BitboardSquareReversiModel() {
+    super(SIDE / 2, new MoveHistory(), PlayerTurn.WHITE, false);
+    this.white = bit(3, 3) | bit(4, 4);
+    this.black = bit(4, 3) | bit(3, 4);
+  }
+
+  /**
+   * Constructor that replays a recorded game, such as one saved with getMoveHistory, from the
+   * starting position without notifying anyone. The game is started.
+   *
+   * @param moves the moves to play, oldest first, with -1 for a pass
+   * @throws IllegalArgumentException if a move is not legal
+   */
+  public BitboardSquareReversiModel(int[] moves) {
+    this();
+    this.replay(moves);
+  }
+
+  /**
+   * Constructor that loads a packed position, such as one saved with toPackedBoard.
+   *
+   * @param board the position to load
+   * @throws IllegalArgumentException if the board is not a square board of a supported size
+   */
+  public BitboardSquareReversiModel(PackedBoard board) {
+    this();
+    this.loadPackedBoard(board);
+  }
+
+  private BitboardSquareReversiModel(long white, long black, MoveHistory history,
+                                     PlayerTurn pt, boolean isStarted) {
+    super(SIDE / 2, history, pt, isStarted);
+    this.white = white;
+    this.black = black;
+  }
+
+  private static long bit(int x, int y) {
+    return 1L << (x * SIDE + y);
+  }
+
+  /**
+   * Shifts every tile of the board by the given amount, positive towards higher indices.
+   *
+   * @param board tiles to shift
+   * @param shift amount to shift by
+   * @return the shifted tiles, without any masking for wrap around
+   */
+  private static long shift(long board, int shift) {
+    return shift > 0 ? board << shift : board >>> -shift;
+  }
+
+  /**
+   * Grows gen along one direction through every run of propagator tiles touching it, doubling
+   * the distance covered on every step so a full row of the board takes three steps.
+   *
+   * @param gen        the tiles to start filling from
+   * @param propagator the tiles the fill is allowed to pass through
+   * @param dir        index of the direction in SHIFTS
+   * @return gen plus every propagator tile reached from it
+   */
+  private static long fill(long gen, long propagator, int dir) {
+    int step = SHIFTS[dir];
+    long pro = propagator & LANDING_MASKS[dir];
+    gen |= pro & shift(gen, step);
+    pro &= shift(pro, step);
+    gen |= pro & shift(gen, 2 * step);
+    pro &= shift(pro, 2 * step);
+    gen |= pro & shift(gen, 4 * step);
+    return gen;
+  }
+
+  /**
+   * Finds every empty tile that the owner of mine could legally place on.
+   *
+   * @param mine   tiles of the player to move
+   * @param theirs tiles of the opposing player
+   * @return a board with a bit set on every legal move
+   */
+  static long legalMoves(long mine, long theirs) {
+    long empty = ~(mine | theirs);
+    long moves = 0L;
+    for (int dir = 0; dir < SHIFTS.length; dir++) {
+      long run = fill(mine, theirs, dir) & theirs;
+      moves |= shift(run, SHIFTS[dir]) & LANDING_MASKS[dir] & empty;
+    }
+    return moves;
+  }
+
+  /**
+   * Finds every tile flipped when the owner of mine places on the tile at move.
+   *
+   * @param move   a board with only the tile being placed set
+   * @param mine   tiles of the player to move
+   * @param theirs tiles of the opposing player
+   * @return a board with a bit set on every flipped tile
+   */
+  static long flipsFor(long move, long mine, long theirs) {
+    long flips = 0L;
+    for (int dir = 0; dir < SHIFTS.length; dir++) {
+      long run = fill(move, theirs, dir);
+      if ((shift(run, SHIFTS[dir]) & LANDING_MASKS[dir] & mine) != 0) {
+        flips |= run & ~move;
+      }
+    }
+    return flips;
+  }
+
+  private long tilesOf(FillType ft) {
+    return ft == FillType.WHITE ? this.white : this.black;
+  }
+
+  private long tilesAgainst(FillType ft) {
+    return ft == FillType.WHITE ? this.black : this.white;
+  }
+
+  @Override
+  public BoardShape getShape() {
+    return BoardShape.SQUARE;
+  }
+
+  @Override
+  protected int indexOf(int x, int y, int extra) {
+    return x * SIDE + y;
+  }
+
+  @Override
+  protected FillType fillAt(int index) {
+    if ((this.white >>> index & 1L) != 0) {
+      return FillType.WHITE;
+    } else if ((this.black >>> index & 1L) != 0) {
+      return FillType.BLACK;
+    }
+    return FillType.EMPTY;
+  }
+
+  @Override
+  protected int countFlips(int index, FillType ft) {
+    return Long.bitCount(flipsFor(1L << index, this.tilesOf(ft), this.tilesAgainst(ft)));
+  }
+
+  @Override
+  protected int applyMove(int index, FillType ft, int[] flipped) {
+    long move = 1L << index;
+    long flips = flipsFor(move, this.tilesOf(ft), this.tilesAgainst(ft));
+    if (ft == FillType.WHITE) {
+      this.white |= move | flips;
+      this.black &= ~flips;
+    } else {
+      this.black |= move | flips;
+      this.white &= ~flips;
+    }
+    if (flipped != null) {
+      int count = 0;
+      for (long left = flips; left != 0; left &= left - 1) {
+        flipped[count++] = Long.numberOfTrailingZeros(left);
+      }
+    }
+    return Long.bitCount(flips);
+  }
+
+  @Override
+  protected void setFill(int index, FillType ft) {
+    long bit = 1L << index;
+    this.white = ft == FillType.WHITE ? this.white | bit : this.white & ~bit;
+    this.black = ft == FillType.BLACK ? this.black | bit : this.black & ~bit;
+  }
+
+  @Override
+  protected int[] findLegalMoves(FillType ft) {
+    return bitIndices(legalMoves(this.tilesOf(ft), this.tilesAgainst(ft)));
+  }
+
+  @Override
+  protected boolean hasValidMove(FillType ft) {
+    return legalMoves(this.tilesOf(ft), this.tilesAgainst(ft)) != 0;
+  }
+
+  @Override
+  public int getScore(PlayerTurn pt) {
+    return Long.bitCount(this.tilesOf(this.getFillTypeOfPlayerTurn(pt)));
+  }
+
+  @Override
+  public Tile getTileAtIndex(int index) throws IllegalArgumentException {
+    throwIfBadIndex(index);
+    return TOPOLOGY.tile(index, this.fillAt(index));
+  }
+
+  @Override
+  public int getNumTiles() {
+    return SIDE * SIDE;
+  }
+
+  @Override
+  public IReversiModel getCopy() {
+    BitboardSquareReversiModel copy = new BitboardSquareReversiModel(this.white, this.black,
+            new MoveHistory(this.history), this.player, this.isStarted);
+    copy.copyCachesFrom(this);
+    return copy;
+  }
+
+  @Override
+  public boolean doCoordsExist(int x, int y, int extra) {
+    return !(x < 0 || x >= SIDE || y < 0 || y >= SIDE);
+  }
+}
@@ -0,0 +1,22 @@
+package model;
+
+/**
+ * Enumeration of the shapes of board Reversi can be played on: a hexagon of hexagonal tiles, or
+ * a square of square tiles.
+ */
+public enum BoardShape {
+  HEX, SQUARE;
+
+  /**
+   * Returns the number of tiles on a board of this shape and the given radius.
+   *
+   * @param radius radius of the board
+   * @return number of tiles on the board
+   */
+  public int numTiles(int radius) {
+    if (this == HEX) {
+      return 3 * radius * (radius - 1) + 1;
+    }
+    return 4 * radius * radius;
+  }
+}
@@ -0,0 +1,231 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The symmetries of a Reversi board of one shape and radius: the 12 rotations and reflections
+ * of a hexagonal board, or the 8 of a square board, each stored as a permutation of tile
+ * indices. Positions that are rotations or reflections of each other play out the same, so
+ * caches and opening books can store one canonical representative of them all, and a search can
+ * skip moves that are mirror images of each other. Like BoardTopology, tables are built once per
+ * (shape, radius) and shared.
+ */
+public final class BoardSymmetry {
+  private static final Map<Integer, BoardSymmetry> HEX_REGISTRY = new ConcurrentHashMap<>();
+  private static final Map<Integer, BoardSymmetry> SQUARE_REGISTRY = new ConcurrentHashMap<>();
+
+  private final BoardShape shape;
+  private final int radius;
+  /**
+   * forward[t][index] is the index tile index moves to under transform t.
+   */
+  private final int[][] forward;
+  /**
+   * inverse[t][index] is the index that transform t moves onto tile index.
+   */
+  private final int[][] inverse;
+
+  private BoardSymmetry(BoardTopology topology) {
+    this.shape = topology.getShape();
+    this.radius = topology.getRadius();
+    int count = this.shape == BoardShape.HEX ? 12 : 8;
+    this.forward = new int[count][topology.size()];
+    this.inverse = new int[count][topology.size()];
+    for (int t = 0; t < count; t++) {
+      for (int index = 0; index < topology.size(); index++) {
+        int[] image = this.transform(t, topology.q(index), topology.r(index));
+        int target = topology.indexOf(image[0], image[1], -image[0] - image[1]);
+        this.forward[t][index] = target;
+        this.inverse[t][target] = index;
+      }
+    }
+  }
+
+  /**
+   * Returns the symmetries of the board of the given shape and radius.
+   *
+   * @param shape  shape of the board
+   * @param radius radius of the board
+   * @return the shared symmetries for that board
+   * @throws IllegalArgumentException if there is no such board
+   */
+  public static BoardSymmetry of(BoardShape shape, int radius) throws IllegalArgumentException {
+    if (shape == BoardShape.HEX) {
+      BoardTopology topology = BoardTopology.hex(radius);
+      return HEX_REGISTRY.computeIfAbsent(radius, r -> new BoardSymmetry(topology));
+    }
+    BoardTopology topology = BoardTopology.square(radius);
+    return SQUARE_REGISTRY.computeIfAbsent(radius, r -> new BoardSymmetry(topology));
+  }
+
+  // maps (q, r) under transform t: a reflection if t is in the upper half, then t rotations
+  private int[] transform(int t, int q, int r) {
+    int turns = t % (this.forward.length / 2);
+    boolean reflect = t >= this.forward.length / 2;
+    if (this.shape == BoardShape.HEX) {
+      int s = -q - r;
+      if (reflect) {
+        // swap r and s, mirroring across the q axis
+        int temp = r;
+        r = s;
+        s = temp;
+      }
+      for (int i = 0; i < turns; i++) {
+        // rotate 60 degrees
+        int oldQ = q;
+        q = -r;
+        r = -s;
+        s = -oldQ;
+      }
+      return new int[]{q, r};
+    }
+    int last = 2 * this.radius - 1;
+    if (reflect) {
+      int temp = q;
+      q = r;
+      r = temp;
+    }
+    for (int i = 0; i < turns; i++) {
+      // rotate 90 degrees
+      int oldQ = q;
+      q = last - r;
+      r = oldQ;
+    }
+    return new int[]{q, r};
+  }
+
+  /**
+   * Returns the number of symmetries, counting the identity, which is transform 0.
+   *
+   * @return 12 for hexagonal boards, 8 for square boards
+   */
+  public int numTransforms() {
+    return this.forward.length;
+  }
+
+  /**
+   * Returns where the tile at index moves under the given transform.
+   *
+   * @param transform which symmetry, from 0 to numTransforms() - 1
+   * @param index     index of the tile
+   * @return index of its image
+   */
+  public int apply(int transform, int index) {
+    return this.forward[transform][index];
+  }
+
+  /**
+   * Returns the tile the given transform moves onto index, undoing apply.
+   *
+   * @param transform which symmetry, from 0 to numTransforms() - 1
+   * @param index     index of the image
+   * @return index of the tile that moves there
+   */
+  public int unapply(int transform, int index) {
+    return this.inverse[transform][index];
+  }
+
+  /**
+   * Finds the canonical representative of a position: of all its rotations and reflections, the
+   * one whose tiles, read in index order, are least. Every symmetric variant of a position has
+   * the same representative.
+   *
+   * @param board the position, on this board
+   * @return the representative and the transform that maps board onto it
+   * @throws IllegalArgumentException if the position is on a different board
+   */
+  public CanonicalPosition canonicalize(PackedBoard board) throws IllegalArgumentException {
+    FillType[] fills = this.fillsOf(board);
+    int best = 0;
+    for (int t = 1; t < this.forward.length; t++) {
+      if (this.compareImages(fills, t, best) < 0) {
+        best = t;
+      }
+    }
+    FillType[] image = new FillType[fills.length];
+    for (int index = 0; index < fills.length; index++) {
+      image[this.forward[best][index]] = fills[index];
+    }
+    PackedBoard canonical = PackedBoard.encode(this.shape, this.radius, image,
+            board.getPlayerTurn(), board.isStarted(), board.getLastPasses());
+    return new CanonicalPosition(this, canonical, best);
+  }
+
+  /**
+   * Picks one move out of every set of moves that are mirror images of each other in the given
+   * position, so a search need only try one of them. Two moves are mirror images if a symmetry
+   * that leaves the position unchanged maps one onto the other; the lowest index of each such
+   * set is kept.
+   *
+   * @param board the position, on this board
+   * @param moves indices of the moves to choose from
+   * @return the kept moves, in the order given
+   * @throws IllegalArgumentException if the position is on a different board
+   */
+  public int[] uniqueMoves(PackedBoard board, int[] moves) throws IllegalArgumentException {
+    return this.uniqueMoves(this.fillsOf(board), moves);
+  }
+
+  /**
+   * Picks one move out of every set of moves that are mirror images of each other in the
+   * position with the given tiles, as uniqueMoves of a packed board does, for callers that
+   * already read the tiles of a model with readFills.
+   *
+   * @param fills the FillType of every tile of the position, by index
+   * @param moves indices of the moves to choose from
+   * @return the kept moves, in the order given
+   * @throws IllegalArgumentException if fills is not the size of this board
+   */
+  public int[] uniqueMoves(FillType[] fills, int[] moves) throws IllegalArgumentException {
+    if (fills.length != this.forward[0].length) {
+      throw new IllegalArgumentException("Expected " + this.forward[0].length + " tiles, not "
+              + fills.length + ".");
+    }
+    int[] fixing = new int[this.forward.length];
+    int numFixing = 0;
+    for (int t = 1; t < this.forward.length; t++) {
+      if (this.compareImages(fills, t, 0) == 0) {
+        fixing[numFixing++] = t;
+      }
+    }
+    int[] kept = new int[moves.length];
+    int count = 0;
+    for (int move : moves) {
+      boolean lowest = true;
+      for (int i = 0; i < numFixing && lowest; i++) {
+        lowest = this.forward[fixing[i]][move] >= move;
+      }
+      if (lowest) {
+        kept[count++] = move;
+      }
+    }
+    return Arrays.copyOf(kept, count);
+  }
+
+  // unpacks the tiles of board, checking it is on this board
+  private FillType[] fillsOf(PackedBoard board) throws IllegalArgumentException {
+    if (board.getShape() != this.shape || board.getRadius() != this.radius) {
+      throw new IllegalArgumentException("Packed board is a " + board.getShape() + " board of "
+              + "radius " + board.getRadius() + ", not a " + this.shape + " board of radius "
+              + this.radius + ".");
+    }
+    FillType[] fills = new FillType[board.getNumTiles()];
+    for (int index = 0; index < fills.length; index++) {
+      fills[index] = board.getFill(index);
+    }
+    return fills;
+  }
+
+  // compares the images of fills under transforms a and b in index order, without building them
+  private int compareImages(FillType[] fills, int a, int b) {
+    for (int index = 0; index < fills.length; index++) {
+      int diff = fills[this.inverse[a][index]].compareTo(fills[this.inverse[b][index]]);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,316 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable topology of a Reversi board of one shape and radius: the coordinates of every
+ * tile index, for every tile the indices of the tiles along each direction, ordered from the
+ * nearest to the edge of the board, and the starting tiles of each player. This is everything
+ * TopologyReversiModel needs to play on a board, so a shape is defined by its coordinates, its
+ * directions and its starting tiles alone. Topologies are built once per (shape, radius) and
+ * shared by every model of that size through hex and square, so creating a model does no
+ * topology work.
+ */
+public final class BoardTopology {
+  /**
+   * The six directions (q, r, s) a row of hexagonal tiles can be flipped along.
+   */
+  static final int[][] HEX_DIRECTIONS = {
+    {0, -1, 1}, {0, 1, -1}, {-1, 0, 1}, {1, 0, -1}, {1, -1, 0}, {-1, 1, 0}
+  };
+  /**
+   * The eight directions (x, y) a row of square tiles can be flipped along.
+   */
+  static final int[][] SQUARE_DIRECTIONS = {
+    {0, -1, 0}, {0, 1, 0}, {-1, 0, 0}, {1, 0, 0}, {1, -1, 0}, {-1, 1, 0}, {-1, -1, 0}, {1, 1, 0}
+  };
+  private static final Map<Integer, BoardTopology> HEX_REGISTRY = new ConcurrentHashMap<>();
+  private static final Map<Integer, BoardTopology> SQUARE_REGISTRY = new ConcurrentHashMap<>();
+
+  private final BoardShape shape;
+  private final int radius;
+  private final int[] qs;
+  private final int[] rs;
+  /**
+   * rays[index][direction] holds the indices along that direction, nearest first.
+   */
+  private final int[][][] rays;
+  /**
+   * neighbours[index] holds the indices of the tiles next to the tile at index.
+   */
+  private final int[][] neighbours;
+  /**
+   * The FillType of every tile at the start of a game.
+   */
+  private final FillType[] start;
+  /**
+   * The shared immutable tile of every index and FillType, at ft.ordinal() * size + index.
+   */
+  private final Tile[] tiles;
+
+  private BoardTopology(BoardShape shape, int radius, int[][] directions, int[][] whiteStart,
+                        int[][] blackStart) {
+    this.shape = shape;
+    this.radius = radius;
+    int size = shape.numTiles(radius);
+    this.qs = new int[size];
+    this.rs = new int[size];
+    int low = shape == BoardShape.HEX ? -radius + 1 : 0;
+    int high = shape == BoardShape.HEX ? radius : 2 * radius;
+    for (int q = low; q < high; q++) {
+      for (int r = low; r < high; r++) {
+        if (this.contains(q, r, -q - r)) {
+          int index = this.indexOf(q, r, -q - r);
+          this.qs[index] = q;
+          this.rs[index] = r;
+        }
+      }
+    }
+    this.rays = new int[size][directions.length][];
+    this.neighbours = new int[size][];
+    for (int index = 0; index < size; index++) {
+      int count = 0;
+      int[] adjacent = new int[directions.length];
+      for (int dir = 0; dir < directions.length; dir++) {
+        this.rays[index][dir] = this.walk(index, directions[dir]);
+        if (this.rays[index][dir].length > 0) {
+          adjacent[count++] = this.rays[index][dir][0];
+        }
+      }
+      this.neighbours[index] = Arrays.copyOf(adjacent, count);
+    }
+    this.start = new FillType[size];
+    Arrays.fill(this.start, FillType.EMPTY);
+    for (int[] coords : whiteStart) {
+      this.start[this.indexOf(coords[0], coords[1], -coords[0] - coords[1])] = FillType.WHITE;
+    }
+    for (int[] coords : blackStart) {
+      this.start[this.indexOf(coords[0], coords[1], -coords[0] - coords[1])] = FillType.BLACK;
+    }
+    this.tiles = new Tile[FillType.values().length * size];
+    for (FillType ft : FillType.values()) {
+      for (int index = 0; index < size; index++) {
+        this.tiles[ft.ordinal() * size + index] = shape == BoardShape.HEX
+                ? InternedTile.hex(this.qs[index], this.rs[index], this.s(index), ft)
+                : InternedTile.square(this.qs[index], this.rs[index], ft);
+      }
+    }
+  }
+
+  /**
+   * Returns the topology of a hexagonal board of the given radius, starting with three tiles of
+   * each player alternating around the center.
+   *
+   * @param radius radius of the board, at least 2
+   * @return the shared topology for that radius
+   * @throws IllegalArgumentException if the radius is less than 2
+   */
+  public static BoardTopology hex(int radius) throws IllegalArgumentException {
+    if (radius < 2) {
+      throw new IllegalArgumentException("Invalid radius parameter");
+    }
+    return HEX_REGISTRY.computeIfAbsent(radius, r -> new BoardTopology(BoardShape.HEX, r,
+            HEX_DIRECTIONS, new int[][]{{0, 1}, {1, -1}, {-1, 0}},
+            new int[][]{{0, -1}, {1, 0}, {-1, 1}}));
+  }
+
+  /**
+   * Returns the topology of a square board of the given radius, 2 * radius tiles wide, starting
+   * with two tiles of each player crossed in the center.
+   *
+   * @param radius radius of the board, even and at least 2
+   * @return the shared topology for that radius
+   * @throws IllegalArgumentException if the radius is odd or less than 2
+   */
+  public static BoardTopology square(int radius) throws IllegalArgumentException {
+    if (radius < 2 || radius % 2 == 1) {
+      throw new IllegalArgumentException("Invalid radius parameter");
+    }
+    return SQUARE_REGISTRY.computeIfAbsent(radius, r -> new BoardTopology(BoardShape.SQUARE, r,
+            SQUARE_DIRECTIONS, new int[][]{{r - 1, r - 1}, {r, r}},
+            new int[][]{{r, r - 1}, {r - 1, r}}));
+  }
+
+  // returns the indices from index along dir up to the edge of the board, nearest first
+  private int[] walk(int index, int[] dir) {
+    int length = 0;
+    int q = this.qs[index] + dir[0];
+    int r = this.rs[index] + dir[1];
+    while (this.contains(q, r, -q - r)) {
+      length++;
+      q += dir[0];
+      r += dir[1];
+    }
+    int[] ray = new int[length];
+    for (int i = 0; i < length; i++) {
+      ray[i] = this.indexOf(this.qs[index] + dir[0] * (i + 1),
+              this.rs[index] + dir[1] * (i + 1), 0);
+    }
+    return ray;
+  }
+
+  /**
+   * Returns whether the given coordinates are on the board. Square boards ignore s.
+   *
+   * @param q the q (or x) coordinate
+   * @param r the r (or y) coordinate
+   * @param s the s coordinate
+   * @return whether there is a tile at those coordinates
+   */
+  public boolean contains(int q, int r, int s) {
+    if (this.shape == BoardShape.HEX) {
+      return q + r + s == 0 && Math.abs(q) < this.radius && Math.abs(r) < this.radius
+              && Math.abs(s) < this.radius;
+    }
+    return q >= 0 && q < 2 * this.radius && r >= 0 && r < 2 * this.radius;
+  }
+
+  /**
+   * Returns the index of the tile at the given coordinates. Hexagonal boards store columns of
+   * constant q one after the other, each one holding 2 * radius - 1 - |q| tiles ordered from the
+   * highest r down to the lowest, so the start of a column is an arithmetic series over the
+   * lengths of the columns before it. Square boards are stored x-major.
+   * Assumes the coordinates are on the board.
+   *
+   * @param q the q (or x) coordinate
+   * @param r the r (or y) coordinate
+   * @param s the s coordinate, ignored
+   * @return index of the tile
+   */
+  public int indexOf(int q, int r, int s) {
+    if (this.shape == BoardShape.SQUARE) {
+      return q * 2 * this.radius + r;
+    }
+    return hexColumnStart(this.radius, q) + Math.min(this.radius - 1, this.radius - 1 - q) - r;
+  }
+
+  /**
+   * Returns the index of the first tile of the column of constant q on a hexagonal board of the
+   * given radius, without building the topology.
+   *
+   * @param radius radius of the board
+   * @param q      the q coordinate of the column
+   * @return index of the tile with the highest r in that column
+   */
+  static int hexColumnStart(int radius, int q) {
+    if (q <= 0) {
+      int columnsBefore = q + radius - 1;
+      return columnsBefore * (2 * radius - 1) + columnsBefore * (q - radius) / 2;
+    }
+    int middleStart = (radius - 1) * (2 * radius - 1) - (radius - 1) * radius / 2;
+    return middleStart + q * (2 * radius - 1) - q * (q - 1) / 2;
+  }
+
+  /**
+   * Returns the shape of the board.
+   *
+   * @return the board's shape
+   */
+  public BoardShape getShape() {
+    return this.shape;
+  }
+
+  /**
+   * Returns the radius of the board.
+   *
+   * @return the board's radius
+   */
+  public int getRadius() {
+    return this.radius;
+  }
+
+  /**
+   * Returns the number of tiles on the board.
+   *
+   * @return number of tiles
+   */
+  public int size() {
+    return this.qs.length;
+  }
+
+  /**
+   * Returns the q (or x) coordinate of the tile at the given index.
+   *
+   * @param index index of the tile
+   * @return its q coordinate
+   */
+  public int q(int index) {
+    return this.qs[index];
+  }
+
+  /**
+   * Returns the r (or y) coordinate of the tile at the given index.
+   *
+   * @param index index of the tile
+   * @return its r coordinate
+   */
+  public int r(int index) {
+    return this.rs[index];
+  }
+
+  /**
+   * Returns the s coordinate of the tile at the given index, always 0 on square boards.
+   *
+   * @param index index of the tile
+   * @return its s coordinate
+   */
+  public int s(int index) {
+    return this.shape == BoardShape.HEX ? -this.qs[index] - this.rs[index] : 0;
+  }
+
+  /**
+   * Returns the number of directions a row of tiles can be flipped along.
+   *
+   * @return 6 for hexagonal boards, 8 for square boards
+   */
+  public int numDirections() {
+    return this.rays.length == 0 ? 0 : this.rays[0].length;
+  }
+
+  /**
+   * Returns the FillType of every tile at the start of a game.
+   *
+   * @return a new array of the starting FillTypes, by index
+   */
+  public FillType[] startingBoard() {
+    return this.start.clone();
+  }
+
+  /**
+   * Returns the shared tile of the right kind for this board at the coordinates of the given
+   * index. There is one such tile per index and FillType, built with the topology, so reading
+   * a board allocates nothing; the tile throws if it is ever flipped or refilled.
+   *
+   * @param index index of the tile
+   * @param ft    FillType of the tile
+   * @return the immutable tile
+   */
+  public Tile tile(int index, FillType ft) {
+    return this.tiles[ft.ordinal() * this.qs.length + index];
+  }
+
+  /**
+   * Returns the indices of the tiles from the given tile along a direction to the edge of the
+   * board, nearest first. The array is shared and must not be modified.
+   *
+   * @param index index of the starting tile
+   * @param dir   index of the direction
+   * @return the ray of tile indices
+   */
+  int[] ray(int index, int dir) {
+    return this.rays[index][dir];
+  }
+
+  /**
+   * Returns the indices of the tiles next to the given tile. The array is shared and must not be
+   * modified.
+   *
+   * @param index index of the tile
+   * @return indices of its neighbours
+   */
+  int[] neighbours(int index) {
+    return this.neighbours[index];
+  }
+}
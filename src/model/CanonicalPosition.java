@@ -0,0 +1,63 @@
+package model;
+
+/**
+ * The canonical representative of a position among its rotations and reflections, along with
+ * the transform that maps the original position onto it, so moves found on the representative,
+ * such as from an opening book, can be mapped back onto the original board.
+ */
+public final class CanonicalPosition {
+  private final BoardSymmetry symmetry;
+  private final PackedBoard board;
+  private final int transform;
+
+  /**
+   * Constructor, for BoardSymmetry.canonicalize.
+   *
+   * @param symmetry  symmetries of the board
+   * @param board     the representative
+   * @param transform the transform from the original position to the representative
+   */
+  CanonicalPosition(BoardSymmetry symmetry, PackedBoard board, int transform) {
+    this.symmetry = symmetry;
+    this.board = board;
+    this.transform = transform;
+  }
+
+  /**
+   * Returns the representative, the same for every symmetric variant of the position.
+   *
+   * @return the canonical position
+   */
+  public PackedBoard getBoard() {
+    return this.board;
+  }
+
+  /**
+   * Returns which of the board's symmetries maps the original position onto the representative.
+   *
+   * @return the transform, 0 if the original position was already canonical
+   */
+  public int getTransform() {
+    return this.transform;
+  }
+
+  /**
+   * Maps a tile of the original position onto the representative.
+   *
+   * @param index index of a tile in the original position
+   * @return index of the same tile in the representative
+   */
+  public int toCanonical(int index) {
+    return this.symmetry.apply(this.transform, index);
+  }
+
+  /**
+   * Maps a tile of the representative back onto the original position.
+   *
+   * @param index index of a tile in the representative
+   * @return index of the same tile in the original position
+   */
+  public int fromCanonical(int index) {
+    return this.symmetry.unapply(this.transform, index);
+  }
+}
@@ -0,0 +1,98 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size int array stored as chunks of 64 that copies share until one side writes. A copy
+ * only clones the table of chunk references, and each side clones a chunk the first time it
+ * writes to it, so forking a large board and then playing a move on it costs a table of
+ * references and the few chunks the move touched rather than the whole board. Copying an array
+ * that owns none of its chunks, such as a copy nothing has written to, does not write to it, so
+ * such an array can be copied from many threads at once.
+ */
+final class ChunkedIntArray {
+  private static final int SHIFT = 6;
+  private static final int CHUNK = 1 << SHIFT;
+  private static final int MASK = CHUNK - 1;
+
+  private final int size;
+  private final int[][] chunks;
+  /**
+   * Whether each chunk belongs to this array alone and can be written in place.
+   */
+  private final boolean[] owned;
+  /**
+   * Whether any element of owned is set, so copying an array that owns nothing skips clearing it.
+   */
+  private boolean ownsAny;
+
+  /**
+   * Constructor for an array of the given size with every element set to value.
+   *
+   * @param size  number of elements
+   * @param value starting value of every element
+   */
+  ChunkedIntArray(int size, int value) {
+    this.size = size;
+    this.chunks = new int[(size + MASK) >>> SHIFT][];
+    this.owned = new boolean[this.chunks.length];
+    for (int c = 0; c < this.chunks.length; c++) {
+      this.chunks[c] = new int[CHUNK];
+      Arrays.fill(this.chunks[c], value);
+      this.owned[c] = true;
+    }
+    this.ownsAny = true;
+  }
+
+  /**
+   * Copy constructor, sharing every chunk with other. Both arrays give up ownership of their
+   * chunks, so whichever writes to a chunk first clones it. If other owns no chunks it is only
+   * read.
+   *
+   * @param other the array to copy
+   */
+  ChunkedIntArray(ChunkedIntArray other) {
+    this.size = other.size;
+    this.chunks = other.chunks.clone();
+    this.owned = new boolean[this.chunks.length];
+    if (other.ownsAny) {
+      Arrays.fill(other.owned, false);
+      other.ownsAny = false;
+    }
+  }
+
+  /**
+   * Returns the element at the given index.
+   *
+   * @param index index of the element, from 0 to size() - 1
+   * @return its value
+   */
+  int get(int index) {
+    return this.chunks[index >>> SHIFT][index & MASK];
+  }
+
+  /**
+   * Sets the element at the given index, first cloning its chunk if it is shared.
+   *
+   * @param index index of the element, from 0 to size() - 1
+   * @param value its new value
+   */
+  void set(int index, int value) {
+    int c = index >>> SHIFT;
+    if (!this.owned[c]) {
+      this.chunks[c] = this.chunks[c].clone();
+      this.owned[c] = true;
+      this.ownsAny = true;
+    }
+    this.chunks[c][index & MASK] = value;
+  }
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return size of the array
+   */
+  int size() {
+    return this.size;
+  }
+}
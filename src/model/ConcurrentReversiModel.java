@@ -0,0 +1,277 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A Reversi model that can be read from any number of threads while one thread plays on it, so
+ * AI players, views and analytics can run off the Swing thread without ever seeing a half
+ * flipped board. Moves are applied to the wrapped model one at a time under a lock, which only
+ * writers take. After every change a copy of the position is published as a snapshot that
+ * nothing writes to again, and every read goes to the latest snapshot without taking the lock;
+ * model copies share their tiles until written, so publishing one is cheap. Each read sees a
+ * whole position, though two reads in a row may see two positions; snapshot gives a view that
+ * stays on one position throughout. Listeners are told whose turn it is after the move is
+ * published and the lock released, so a listener can read the new position and play its own
+ * move straight away.
+ * The wrapped model must not be used directly once wrapped. Searches should play on getCopy,
+ * since every move here publishes a snapshot.
+ */
+public final class ConcurrentReversiModel implements IReversiModel {
+  private final IReversiModel model;
+  private final ReentrantLock lock;
+  private final List<ModelNotificationListener> listeners;
+  /**
+   * Turns announced by the wrapped model during the current write, delivered once it is done.
+   * Only touched under the lock.
+   */
+  private final List<PlayerTurn> pending;
+  /**
+   * The copy of the position every read is answered from.
+   */
+  private volatile IReversiModel snapshot;
+
+  /**
+   * Constructor wrapping a model, which must not be used directly from then on.
+   *
+   * @param model the model to play on
+   */
+  public ConcurrentReversiModel(IReversiModel model) {
+    this.model = Objects.requireNonNull(model);
+    this.lock = new ReentrantLock();
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.pending = new ArrayList<>();
+    this.model.addModelListener(this.pending::add);
+    this.publish();
+  }
+
+  // makes a copy of the current position the one readers see, with everything readers might
+  // otherwise compute and cache on first use already worked out, so readers never write to it
+  private void publish() {
+    IReversiModel next = this.model.getCopy();
+    next.getScore(PlayerTurn.WHITE);
+    next.getPositionHash();
+    next.getLegalMoves();
+    if (next.isStarted()) {
+      next.isGameOver();
+    }
+    this.snapshot = next;
+  }
+
+  // runs a change to the wrapped model under the lock, publishes the result, then tells the
+  // listeners about every turn the change announced
+  private <T> T write(Supplier<T> change) {
+    T result;
+    List<PlayerTurn> events;
+    this.lock.lock();
+    try {
+      result = change.get();
+    } finally {
+      this.publish();
+      events = new ArrayList<>(this.pending);
+      this.pending.clear();
+      this.lock.unlock();
+    }
+    for (PlayerTurn pt : events) {
+      for (ModelNotificationListener listener : this.listeners) {
+        listener.turnFor(pt);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a read-only view that stays on the current position, however the game goes on, for
+   * readers that need several reads to agree with each other.
+   *
+   * @return a view of the current position
+   */
+  public ReadOnlyReversiModel snapshot() {
+    return new ReadOnlyReversiImpl(this.snapshot);
+  }
+
+  @Override
+  public void startGame() throws IllegalArgumentException, IllegalStateException {
+    this.write(() -> {
+      this.model.startGame();
+      return null;
+    });
+  }
+
+  @Override
+  public void placeTile(int q, int r, int s)
+          throws IllegalArgumentException, IllegalStateException {
+    this.write(() -> {
+      this.model.placeTile(q, r, s);
+      return null;
+    });
+  }
+
+  @Override
+  public void pass() throws IllegalStateException {
+    this.write(() -> {
+      this.model.pass();
+      return null;
+    });
+  }
+
+  @Override
+  public UndoRecord makeMove(int q, int r, int s)
+          throws IllegalArgumentException, IllegalStateException {
+    return this.write(() -> this.model.makeMove(q, r, s));
+  }
+
+  @Override
+  public UndoRecord makePass() throws IllegalStateException {
+    return this.write(this.model::makePass);
+  }
+
+  @Override
+  public void unmakeMove(UndoRecord record)
+          throws IllegalArgumentException, IllegalStateException {
+    this.write(() -> {
+      this.model.unmakeMove(record);
+      return null;
+    });
+  }
+
+  @Override
+  public void addModelListener(ModelNotificationListener listener) {
+    this.listeners.add(Objects.requireNonNull(listener));
+  }
+
+  @Override
+  public IReversiModel getCopy() {
+    return this.snapshot.getCopy();
+  }
+
+  @Override
+  public boolean doCoordsExist(int q, int r, int s) {
+    return this.snapshot.doCoordsExist(q, r, s);
+  }
+
+  @Override
+  public boolean isGameOver() throws IllegalStateException {
+    return this.snapshot.isGameOver();
+  }
+
+  @Override
+  public Tile getTileAt(int q, int r, int s)
+          throws IllegalArgumentException, IllegalStateException {
+    return this.snapshot.getTileAt(q, r, s);
+  }
+
+  @Override
+  public Tile getTileAtIndex(int index) throws IllegalArgumentException {
+    return this.snapshot.getTileAtIndex(index);
+  }
+
+  @Override
+  public int getIndexOf(int q, int r, int s) throws IllegalArgumentException {
+    return this.snapshot.getIndexOf(q, r, s);
+  }
+
+  @Override
+  public int getNumTiles() {
+    return this.snapshot.getNumTiles();
+  }
+
+  @Override
+  public int getRadius() {
+    return this.snapshot.getRadius();
+  }
+
+  @Override
+  public BoardShape getShape() {
+    return this.snapshot.getShape();
+  }
+
+  @Override
+  public int getScore(PlayerTurn pt) {
+    return this.snapshot.getScore(pt);
+  }
+
+  @Override
+  public PositionSummary getPositionSummary() {
+    return this.snapshot.getPositionSummary();
+  }
+
+  @Override
+  public PlayerTurn getPlayerTurn() {
+    return this.snapshot.getPlayerTurn();
+  }
+
+  @Override
+  public FillType getFillTypeOfPlayerTurn(PlayerTurn pt) {
+    return this.snapshot.getFillTypeOfPlayerTurn(pt);
+  }
+
+  @Override
+  public boolean isMoveValid(int q, int r, int s) {
+    return this.snapshot.isMoveValid(q, r, s);
+  }
+
+  @Override
+  public int countFlipsForMove(int q, int r, int s) {
+    return this.snapshot.countFlipsForMove(q, r, s);
+  }
+
+  @Override
+  public PackedBoard toPackedBoard() {
+    return this.snapshot.toPackedBoard();
+  }
+
+  @Override
+  public int[] getLegalMoves() {
+    return this.snapshot.getLegalMoves();
+  }
+
+  @Override
+  public int nextLegalMove(int from) {
+    return this.snapshot.nextLegalMove(from);
+  }
+
+  @Override
+  public int[] getFlipCounts() {
+    return this.snapshot.getFlipCounts();
+  }
+
+  @Override
+  public FillType getFillAtIndex(int index) throws IllegalArgumentException {
+    return this.snapshot.getFillAtIndex(index);
+  }
+
+  @Override
+  public void readFills(FillType[] dest) throws IllegalArgumentException {
+    this.snapshot.readFills(dest);
+  }
+
+  @Override
+  public long getVersion() {
+    return this.snapshot.getVersion();
+  }
+
+  @Override
+  public boolean isStarted() {
+    return this.snapshot.isStarted();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return this.snapshot.getPositionHash();
+  }
+
+  @Override
+  public int[] getMoveHistory() {
+    return this.snapshot.getMoveHistory();
+  }
+
+  @Override
+  public ArrayList<Tile> copyTiles() {
+    return this.snapshot.copyTiles();
+  }
+}
@@ -0,0 +1,130 @@
+package model;
+
+/**
+ * The frontier of a Reversi board: every empty tile next to at least one taken tile. Only these
+ * tiles can ever be legal moves, so move generation only has to look at them. The frontier is
+ * kept up to date one tile at a time as tiles are taken or emptied, and stored as a dense array
+ * with a reverse index so adding and removing a tile are both constant time. Both arrays are
+ * copy-on-write, so copying a frontier along with its model is cheap.
+ */
+final class Frontier {
+  private static final int EMPTY = FillType.EMPTY.ordinal();
+
+  private final BoardTopology topology;
+  /**
+   * The indices of the tiles on the frontier, in no particular order, in the first size slots.
+   */
+  private final ChunkedIntArray members;
+  /**
+   * For every tile, its slot in members, or -1 if it is not on the frontier.
+   */
+  private final ChunkedIntArray slots;
+  private int size;
+
+  /**
+   * Builds the frontier of the given board.
+   *
+   * @param topology topology of the board
+   * @param cells    FillType ordinal of every tile, by index
+   */
+  Frontier(BoardTopology topology, ChunkedIntArray cells) {
+    this.topology = topology;
+    this.members = new ChunkedIntArray(topology.size(), 0);
+    this.slots = new ChunkedIntArray(topology.size(), -1);
+    for (int index = 0; index < cells.size(); index++) {
+      if (cells.get(index) == EMPTY && this.touchesTakenTile(index, cells)) {
+        this.add(index);
+      }
+    }
+  }
+
+  /**
+   * Copy constructor, so copies of a model don't have to rebuild their frontier.
+   *
+   * @param other the frontier to copy
+   */
+  Frontier(Frontier other) {
+    this.topology = other.topology;
+    this.members = new ChunkedIntArray(other.members);
+    this.slots = new ChunkedIntArray(other.slots);
+    this.size = other.size;
+  }
+
+  /**
+   * Updates the frontier after the tile at the given index was taken.
+   *
+   * @param index index of the tile that was taken
+   * @param cells FillType ordinal of every tile, after the change
+   */
+  void taken(int index, ChunkedIntArray cells) {
+    this.remove(index);
+    for (int neighbour : this.topology.neighbours(index)) {
+      if (cells.get(neighbour) == EMPTY) {
+        this.add(neighbour);
+      }
+    }
+  }
+
+  /**
+   * Updates the frontier after the tile at the given index was emptied.
+   *
+   * @param index index of the tile that was emptied
+   * @param cells FillType ordinal of every tile, after the change
+   */
+  void emptied(int index, ChunkedIntArray cells) {
+    if (this.touchesTakenTile(index, cells)) {
+      this.add(index);
+    }
+    for (int neighbour : this.topology.neighbours(index)) {
+      if (cells.get(neighbour) == EMPTY && !this.touchesTakenTile(neighbour, cells)) {
+        this.remove(neighbour);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of tiles on the frontier.
+   *
+   * @return size of the frontier
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the index of the i-th tile on the frontier.
+   *
+   * @param i which tile, from 0 to size() - 1
+   * @return index of that tile
+   */
+  int get(int i) {
+    return this.members.get(i);
+  }
+
+  private boolean touchesTakenTile(int index, ChunkedIntArray cells) {
+    for (int neighbour : this.topology.neighbours(index)) {
+      if (cells.get(neighbour) != EMPTY) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void add(int index) {
+    if (this.slots.get(index) < 0) {
+      this.slots.set(index, this.size);
+      this.members.set(this.size++, index);
+    }
+  }
+
+  private void remove(int index) {
+    int slot = this.slots.get(index);
+    if (slot >= 0) {
+      // move the last member into the freed slot
+      int last = this.members.get(--this.size);
+      this.members.set(slot, last);
+      this.slots.set(last, slot);
+      this.slots.set(index, -1);
+    }
+  }
+}
@@ -18,7 +18,8 @@ public interface IReversiModel extends ReadOnlyReversiModel {
   /**
    * Returns a boolean representing whether the current Reversi
    * game is over or not. A game is defined as over when both players
-   * pass one after the other, forced or not.
+   * pass one after the other, forced or not, or when neither player can move.
+   * The answer is worked out once per position and does not notify listeners.
    *
    * @return whether the game is over
    * @throws IllegalStateException if the game hasn't started yet
@@ -37,6 +38,40 @@ public interface IReversiModel extends ReadOnlyReversiModel {
    */
   void placeTile(int q, int r, int s) throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Places a tile at the given coordinates like placeTile, without notifying any listeners, and
+   * returns a record of the move that unmakeMove can revert in time proportional to the number
+   * of tiles flipped. Lets a search try moves on one model instead of copying it for every move.
+   *
+   * @param q the q coordinate of the tile in a cube coordinate system
+   * @param r the r coordinate of the tile in a cube coordinate system
+   * @param s the s coordinate of the tile in a cube coordinate system
+   * @return a record of the move
+   * @throws IllegalArgumentException if the coordinates are not on the board.
+   * @throws IllegalStateException    if the game is not started or the move is invalid.
+   */
+  UndoRecord makeMove(int q, int r, int s) throws IllegalArgumentException, IllegalStateException;
+
+  /**
+   * Passes the current player's turn without notifying any listeners, and returns a record of
+   * the pass that unmakeMove can revert.
+   *
+   * @return a record of the pass
+   * @throws IllegalStateException if the game is not started.
+   */
+  UndoRecord makePass() throws IllegalStateException;
+
+  /**
+   * Reverts the most recent move or pass, given the record makeMove or makePass returned for
+   * it, restoring the board, the player turn, and the passes exactly. Moves must be unmade in
+   * the reverse order they were made.
+   *
+   * @param record the record of the most recent move
+   * @throws IllegalArgumentException if the record is not of the most recent move.
+   * @throws IllegalStateException    if the game is not started.
+   */
+  void unmakeMove(UndoRecord record) throws IllegalArgumentException, IllegalStateException;
+
   /**
    * returns a copy of the board.
    *
@@ -0,0 +1,157 @@
+package model;
+
+/**
+ * A hash map from non-negative int keys to byte values, stored in two primitive arrays with
+ * open addressing and linear probing, so lookups allocate nothing and entries cost five bytes
+ * of table each instead of a boxed entry. Removal shifts later entries of a probe run back, so
+ * no tombstones are left behind.
+ */
+final class IntByteMap {
+  private static final int MIN_CAPACITY = 16;
+
+  /**
+   * key + 1 for every used slot, 0 for every free slot.
+   */
+  private int[] keys;
+  private byte[] values;
+  private int size;
+
+  /**
+   * Constructor for an empty map.
+   */
+  IntByteMap() {
+    this.keys = new int[MIN_CAPACITY];
+    this.values = new byte[MIN_CAPACITY];
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the map to copy
+   */
+  IntByteMap(IntByteMap other) {
+    this.keys = other.keys.clone();
+    this.values = other.values.clone();
+    this.size = other.size;
+  }
+
+  // spreads the bits of key over the table, since keys of nearby tiles are close together
+  private int slotOf(int key) {
+    int h = key * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & (this.keys.length - 1);
+  }
+
+  // returns the slot holding key, or the free slot where it would go
+  private int find(int key) {
+    int mask = this.keys.length - 1;
+    int slot = this.slotOf(key);
+    while (this.keys[slot] != 0 && this.keys[slot] != key + 1) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Returns the value of the given key.
+   *
+   * @param key          the key, at least 0
+   * @param defaultValue what to return if the key is not in the map
+   * @return the key's value, or defaultValue
+   */
+  byte get(int key, byte defaultValue) {
+    int slot = this.find(key);
+    return this.keys[slot] == 0 ? defaultValue : this.values[slot];
+  }
+
+  /**
+   * Returns whether the map holds the given key.
+   *
+   * @param key the key, at least 0
+   * @return whether the key is in the map
+   */
+  boolean contains(int key) {
+    return this.keys[this.find(key)] != 0;
+  }
+
+  /**
+   * Sets the value of the given key.
+   *
+   * @param key   the key, at least 0
+   * @param value its new value
+   */
+  void put(int key, byte value) {
+    int slot = this.find(key);
+    if (this.keys[slot] == 0) {
+      if (2 * (this.size + 1) > this.keys.length) {
+        this.grow();
+        slot = this.find(key);
+      }
+      this.keys[slot] = key + 1;
+      this.size++;
+    }
+    this.values[slot] = value;
+  }
+
+  /**
+   * Removes the given key, if the map holds it.
+   *
+   * @param key the key, at least 0
+   */
+  void remove(int key) {
+    int mask = this.keys.length - 1;
+    int hole = this.find(key);
+    if (this.keys[hole] == 0) {
+      return;
+    }
+    // pull back every later entry of the run that would no longer be found past the hole
+    for (int next = (hole + 1) & mask; this.keys[next] != 0; next = (next + 1) & mask) {
+      int home = this.slotOf(this.keys[next] - 1);
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        this.keys[hole] = this.keys[next];
+        this.values[hole] = this.values[next];
+        hole = next;
+      }
+    }
+    this.keys[hole] = 0;
+    this.size--;
+  }
+
+  /**
+   * Returns the number of keys in the map.
+   *
+   * @return number of keys
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns every key in the map, in no particular order.
+   *
+   * @return a new array of the keys
+   */
+  int[] keys() {
+    int[] result = new int[this.size];
+    int count = 0;
+    for (int stored : this.keys) {
+      if (stored != 0) {
+        result[count++] = stored - 1;
+      }
+    }
+    return result;
+  }
+
+  private void grow() {
+    int[] oldKeys = this.keys;
+    byte[] oldValues = this.values;
+    this.keys = new int[oldKeys.length * 2];
+    this.values = new byte[oldKeys.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = this.find(oldKeys[i] - 1);
+        this.keys[slot] = oldKeys[i];
+        this.values[slot] = oldValues[i];
+      }
+    }
+  }
+}
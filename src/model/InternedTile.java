@@ -0,0 +1,110 @@
+package model;
+
+/**
+ * A tile as models hand them out from their reads: one per coordinate and FillType, shared by
+ * every reader of every model of the same board. Every field is final, so a tile can be shared
+ * between threads as it is, and flipTile and setFillType throw; getClone gives a HexTile or
+ * SquareTile that can change.
+ */
+final class InternedTile implements Tile {
+  private final BoardShape shape;
+  private final int q;
+  private final int r;
+  private final FillType ft;
+
+  private InternedTile(BoardShape shape, int q, int r, FillType ft) {
+    this.shape = shape;
+    this.q = q;
+    this.r = r;
+    this.ft = ft;
+  }
+
+  /**
+   * Creates the shared tile of a hexagonal board at the given coordinates.
+   *
+   * @param q  the q coordinate of a cubic coordinate system
+   * @param r  the r coordinate of a cubic coordinate system
+   * @param s  the s coordinate of a cubic coordinate system
+   * @param ft the tile's FillType, forever
+   * @return the new immutable tile
+   * @throws IllegalArgumentException if q + r + s != 0
+   */
+  static InternedTile hex(int q, int r, int s, FillType ft) throws IllegalArgumentException {
+    if (q + r + s != 0) {
+      throw new IllegalArgumentException("Invalid q, r, and s coordinates passed.");
+    }
+    return new InternedTile(BoardShape.HEX, q, r, ft);
+  }
+
+  /**
+   * Creates the shared tile of a square board at the given coordinates.
+   *
+   * @param x  the x coordinate of the middle of the square
+   * @param y  the y coordinate of the middle of the square
+   * @param ft the tile's FillType, forever
+   * @return the new immutable tile
+   */
+  static InternedTile square(int x, int y, FillType ft) {
+    return new InternedTile(BoardShape.SQUARE, x, y, ft);
+  }
+
+  @Override
+  public void flipTile() {
+    throw this.frozen();
+  }
+
+  @Override
+  public void setFillType(FillType ft) {
+    throw this.frozen();
+  }
+
+  // models share one tile per coordinate and FillType between all readers, so those are frozen
+  private UnsupportedOperationException frozen() {
+    return new UnsupportedOperationException("Tiles read from a model are shared and cannot "
+            + "be changed; use getClone for a copy that can.");
+  }
+
+  @Override
+  public boolean hasCoords(int q, int r, int s) throws IllegalArgumentException {
+    if (this.shape == BoardShape.SQUARE) {
+      return this.q == q && this.r == r;
+    }
+    if (q + r + s != 0) {
+      throw new IllegalArgumentException("Invalid q, r, and s coordinates passed.");
+    }
+    return this.q == q && this.r == r;
+  }
+
+  @Override
+  public FillType getFT() {
+    return this.ft;
+  }
+
+  @Override
+  public Tile getClone() {
+    Tile clone = this.shape == BoardShape.HEX
+            ? new HexTile(this.q, this.r, this.getS()) : new SquareTile(this.q, this.r);
+    clone.setFillType(this.ft);
+    return clone;
+  }
+
+  @Override
+  public int getQorX() {
+    return this.q;
+  }
+
+  @Override
+  public int getRorY() {
+    return this.r;
+  }
+
+  @Override
+  public int getS() {
+    return this.shape == BoardShape.HEX ? -this.q - this.r : 0;
+  }
+
+  @Override
+  public String toString() {
+    return this.ft.toString();
+  }
+}
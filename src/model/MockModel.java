@@ -48,6 +48,21 @@ public class MockModel implements IReversiModel {
     delegate.placeTile(q, r, s);
   }
 
+  @Override
+  public UndoRecord makeMove(int q, int r, int s) {
+    return delegate.makeMove(q, r, s);
+  }
+
+  @Override
+  public UndoRecord makePass() {
+    return delegate.makePass();
+  }
+
+  @Override
+  public void unmakeMove(UndoRecord record) {
+    delegate.unmakeMove(record);
+  }
+
   @Override
   public int countFlipsForMove(int q, int r, int s) {
     return delegate.countFlipsForMove(q, r, s);
@@ -58,6 +73,11 @@ public class MockModel implements IReversiModel {
     return delegate.getScore(pt);
   }
 
+  @Override
+  public PositionSummary getPositionSummary() {
+    return delegate.getPositionSummary();
+  }
+
   @Override
   public PlayerTurn getPlayerTurn() {
     return delegate.getPlayerTurn();
@@ -69,6 +89,56 @@ public class MockModel implements IReversiModel {
     return delegate.isMoveValid(q, r, s);
   }
 
+  @Override
+  public PackedBoard toPackedBoard() {
+    return delegate.toPackedBoard();
+  }
+
+  @Override
+  public int[] getLegalMoves() {
+    return delegate.getLegalMoves();
+  }
+
+  @Override
+  public int nextLegalMove(int from) {
+    return delegate.nextLegalMove(from);
+  }
+
+  @Override
+  public int[] getFlipCounts() {
+    return delegate.getFlipCounts();
+  }
+
+  @Override
+  public FillType getFillAtIndex(int index) {
+    return delegate.getFillAtIndex(index);
+  }
+
+  @Override
+  public void readFills(FillType[] dest) {
+    delegate.readFills(dest);
+  }
+
+  @Override
+  public long getVersion() {
+    return delegate.getVersion();
+  }
+
+  @Override
+  public boolean isStarted() {
+    return delegate.isStarted();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return delegate.getPositionHash();
+  }
+
+  @Override
+  public int[] getMoveHistory() {
+    return delegate.getMoveHistory();
+  }
+
   @Override
   public FillType getFillTypeOfPlayerTurn(PlayerTurn pt) {
     return delegate.getFillTypeOfPlayerTurn(pt);
@@ -79,11 +149,31 @@ public class MockModel implements IReversiModel {
     return delegate.getTileAt(q, r, s);
   }
 
+  @Override
+  public Tile getTileAtIndex(int index) {
+    return delegate.getTileAtIndex(index);
+  }
+
+  @Override
+  public int getIndexOf(int q, int r, int s) throws IllegalArgumentException {
+    return delegate.getIndexOf(q, r, s);
+  }
+
+  @Override
+  public int getNumTiles() {
+    return delegate.getNumTiles();
+  }
+
   @Override
   public int getRadius() {
     return delegate.getRadius();
   }
 
+  @Override
+  public BoardShape getShape() {
+    return delegate.getShape();
+  }
+
   @Override
   public void startGame() {
     delegate.startGame();
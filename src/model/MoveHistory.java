@@ -0,0 +1,119 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Every move of a game in order, as the index of the tile placed on, PASS for a pass, or
+ * UNKNOWN for a placement whose tile is not known because the game was loaded from a
+ * PackedBoard. Stored in a growable int array, four bytes a move.
+ */
+final class MoveHistory {
+  /**
+   * Recorded for a pass.
+   */
+  static final int PASS = -1;
+  /**
+   * Recorded for a placement on a tile that is not known.
+   */
+  static final int UNKNOWN = -2;
+
+  private int[] moves;
+  private int size;
+
+  /**
+   * Constructor for an empty history.
+   */
+  MoveHistory() {
+    this.moves = new int[16];
+  }
+
+  /**
+   * Copy constructor.
+   *
+   * @param other the history to copy
+   */
+  MoveHistory(MoveHistory other) {
+    this.moves = Arrays.copyOf(other.moves, Math.max(other.size, 16));
+    this.size = other.size;
+  }
+
+  /**
+   * Adds a move to the end of the history.
+   *
+   * @param move index of the tile placed on, PASS or UNKNOWN
+   */
+  void add(int move) {
+    if (this.size == this.moves.length) {
+      this.moves = Arrays.copyOf(this.moves, this.size * 2);
+    }
+    this.moves[this.size++] = move;
+  }
+
+  /**
+   * Removes the last move.
+   */
+  void removeLast() {
+    this.size--;
+  }
+
+  /**
+   * Removes every move.
+   */
+  void clear() {
+    this.size = 0;
+  }
+
+  /**
+   * Returns the move made at the given ply.
+   *
+   * @param ply how many moves were made before it
+   * @return index of the tile placed on, PASS or UNKNOWN
+   */
+  int get(int ply) {
+    return this.moves[ply];
+  }
+
+  /**
+   * Returns whether the move at the given ply was a pass.
+   *
+   * @param ply how many moves were made before it
+   * @return whether it was a pass
+   */
+  boolean isPass(int ply) {
+    return this.moves[ply] == PASS;
+  }
+
+  /**
+   * Returns the number of moves made.
+   *
+   * @return number of moves
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns whether each of the last two moves was a pass, oldest first, as PackedBoard keeps
+   * them.
+   *
+   * @return up to two entries, fewer if fewer moves were made
+   */
+  List<Boolean> lastPasses() {
+    if (this.size == 0) {
+      return List.of();
+    } else if (this.size == 1) {
+      return List.of(this.isPass(0));
+    }
+    return List.of(this.isPass(this.size - 2), this.isPass(this.size - 1));
+  }
+
+  /**
+   * Returns every move in order.
+   *
+   * @return a new array of the moves
+   */
+  int[] toArray() {
+    return Arrays.copyOf(this.moves, this.size);
+  }
+}
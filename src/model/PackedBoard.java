@@ -0,0 +1,276 @@
+package model;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, compact encoding of a Reversi position, used to save games, hash positions and
+ * hand positions between threads. A four byte header holds the shape of the board, its radius
+ * in two bytes, high byte first, and a byte of flags: whose turn it is, whether the game has
+ * started, and whether each of the last two moves was a pass. Every tile then takes two bits,
+ * four tiles to a byte, in the index order of the models: 0 for empty, 1 for white and 2 for
+ * black. A radius 8 hexagonal board takes 47 bytes.
+ * Only the last two moves are kept of the pass history, since that is all that decides whether
+ * the game is over.
+ */
+public final class PackedBoard {
+  /**
+   * The largest radius the header can hold.
+   */
+  public static final int MAX_RADIUS = 0xFFFF;
+
+  private static final int HEADER_BYTES = 4;
+  private static final int FLAGS = 3;
+  private static final int BLACK_TO_MOVE = 1;
+  private static final int STARTED = 1 << 1;
+  private static final int PASSES_SHIFT = 2;
+  private static final int PASSES_MASK = 3;
+  private static final int LAST_PASSED = 1 << 4;
+  private static final int SECOND_LAST_PASSED = 1 << 5;
+  // values() clones its array on every call, so tiles are decoded through these copies
+  private static final BoardShape[] SHAPES = BoardShape.values();
+  private static final FillType[] FILLS = FillType.values();
+
+  /**
+   * The whole encoding, header included.
+   */
+  private final byte[] data;
+  private final BoardShape shape;
+  private final int numTiles;
+
+  // decodes the header of data once, which need hold no more than the header
+  private PackedBoard(byte[] data) throws IllegalArgumentException {
+    this.data = data;
+    int shape = data[0];
+    if (shape < 0 || shape >= SHAPES.length) {
+      throw new IllegalArgumentException("Unknown board shape: " + shape);
+    }
+    this.shape = SHAPES[shape];
+    this.numTiles = this.shape.numTiles(this.getRadius());
+  }
+
+  /**
+   * Encodes a position.
+   *
+   * @param shape     shape of the board
+   * @param radius    radius of the board
+   * @param fills     the FillType of every tile, by index
+   * @param player    whose turn it is, WHITE or BLACK
+   * @param isStarted whether the game has started
+   * @param passes    whether each move so far was a pass, oldest first
+   * @return the packed position
+   * @throws IllegalArgumentException if the radius is above MAX_RADIUS
+   */
+  static PackedBoard encode(BoardShape shape, int radius, FillType[] fills, PlayerTurn player,
+                            boolean isStarted, List<Boolean> passes)
+          throws IllegalArgumentException {
+    if (radius < 0 || radius > MAX_RADIUS) {
+      throw new IllegalArgumentException("Cannot pack a board of radius " + radius
+              + "; the largest is " + MAX_RADIUS + ".");
+    }
+    byte[] data = new byte[HEADER_BYTES + (fills.length + 3) / 4];
+    data[0] = (byte) shape.ordinal();
+    data[1] = (byte) (radius >>> 8);
+    data[2] = (byte) radius;
+    int flags = player == PlayerTurn.BLACK ? BLACK_TO_MOVE : 0;
+    flags |= isStarted ? STARTED : 0;
+    int kept = Math.min(passes.size(), 2);
+    flags |= kept << PASSES_SHIFT;
+    if (kept >= 1 && passes.get(passes.size() - 1)) {
+      flags |= LAST_PASSED;
+    }
+    if (kept == 2 && passes.get(passes.size() - 2)) {
+      flags |= SECOND_LAST_PASSED;
+    }
+    data[FLAGS] = (byte) flags;
+    for (int i = 0; i < fills.length; i++) {
+      data[HEADER_BYTES + i / 4] |= (byte) (fills[i].ordinal() << (i % 4 * 2));
+    }
+    return new PackedBoard(data);
+  }
+
+  /**
+   * Decodes a position from the given bytes, which are copied.
+   *
+   * @param bytes an encoding made by toBytes
+   * @return the packed position
+   * @throws IllegalArgumentException if the bytes are not a valid encoding
+   */
+  public static PackedBoard fromBytes(byte[] bytes) throws IllegalArgumentException {
+    if (bytes.length < HEADER_BYTES) {
+      throw new IllegalArgumentException("Packed board is too short.");
+    }
+    PackedBoard board = new PackedBoard(bytes.clone());
+    if (bytes.length != board.byteSize()) {
+      throw new IllegalArgumentException("Packed board should be " + board.byteSize()
+              + " bytes, but is " + bytes.length + ".");
+    }
+    board.validate();
+    return board;
+  }
+
+  /**
+   * Decodes a position from the given buffer, starting at its position and leaving its
+   * position just past the encoding.
+   *
+   * @param buffer a buffer holding an encoding made by writeTo
+   * @return the packed position
+   * @throws IllegalArgumentException if the buffer does not hold a valid encoding
+   */
+  public static PackedBoard fromBuffer(ByteBuffer buffer) throws IllegalArgumentException {
+    try {
+      byte[] header = new byte[HEADER_BYTES];
+      buffer.get(header);
+      byte[] data = Arrays.copyOf(header, new PackedBoard(header).byteSize());
+      buffer.get(data, HEADER_BYTES, data.length - HEADER_BYTES);
+      PackedBoard board = new PackedBoard(data);
+      board.validate();
+      return board;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Packed board is too short.");
+    }
+  }
+
+  // throws an IllegalArgumentException if the header or any tile has an impossible value
+  private void validate() throws IllegalArgumentException {
+    if (this.getRadius() < 2 || (this.data[FLAGS] >> PASSES_SHIFT & PASSES_MASK) > 2) {
+      throw new IllegalArgumentException("Invalid packed board header.");
+    }
+    for (int i = 0; i < this.numTiles; i++) {
+      if (this.code(i) > 2) {
+        throw new IllegalArgumentException("Invalid tile in packed board: " + i);
+      }
+    }
+  }
+
+  private int code(int index) {
+    return this.data[HEADER_BYTES + index / 4] >> (index % 4 * 2) & 3;
+  }
+
+  /**
+   * Returns the encoding as a new byte array.
+   *
+   * @return the bytes of this position
+   */
+  public byte[] toBytes() {
+    return this.data.clone();
+  }
+
+  /**
+   * Writes the encoding into the given buffer at its position, leaving its position just past
+   * the encoding.
+   *
+   * @param buffer the buffer to write to, with at least byteSize() bytes remaining
+   */
+  public void writeTo(ByteBuffer buffer) {
+    buffer.put(this.data);
+  }
+
+  /**
+   * Returns the length of the encoding in bytes.
+   *
+   * @return number of bytes
+   */
+  public int byteSize() {
+    return HEADER_BYTES + (this.numTiles + 3) / 4;
+  }
+
+  /**
+   * Returns the shape of the board.
+   *
+   * @return the board's shape
+   */
+  public BoardShape getShape() {
+    return this.shape;
+  }
+
+  /**
+   * Returns the radius of the board.
+   *
+   * @return the board's radius
+   */
+  public int getRadius() {
+    return (this.data[1] & 0xFF) << 8 | this.data[2] & 0xFF;
+  }
+
+  /**
+   * Returns the number of tiles on the board.
+   *
+   * @return number of tiles
+   */
+  public int getNumTiles() {
+    return this.numTiles;
+  }
+
+  /**
+   * Returns the FillType of the tile at the given index.
+   *
+   * @param index index of the tile
+   * @return its FillType
+   * @throws IllegalArgumentException if there is no tile at the index
+   */
+  public FillType getFill(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= this.numTiles) {
+      throw new IllegalArgumentException("No tile at index: " + index);
+    }
+    return FILLS[this.code(index)];
+  }
+
+  /**
+   * Returns whose turn it is.
+   *
+   * @return WHITE or BLACK
+   */
+  public PlayerTurn getPlayerTurn() {
+    return (this.data[FLAGS] & BLACK_TO_MOVE) != 0 ? PlayerTurn.BLACK : PlayerTurn.WHITE;
+  }
+
+  /**
+   * Returns whether the game had started.
+   *
+   * @return whether the game had started
+   */
+  public boolean isStarted() {
+    return (this.data[FLAGS] & STARTED) != 0;
+  }
+
+  /**
+   * Returns whether each of the last two moves was a pass, oldest first. Holds fewer than two
+   * entries if fewer moves had been made.
+   *
+   * @return the kept pass history
+   */
+  public List<Boolean> getLastPasses() {
+    int kept = this.data[FLAGS] >> PASSES_SHIFT & PASSES_MASK;
+    boolean last = (this.data[FLAGS] & LAST_PASSED) != 0;
+    boolean secondLast = (this.data[FLAGS] & SECOND_LAST_PASSED) != 0;
+    if (kept == 0) {
+      return List.of();
+    } else if (kept == 1) {
+      return List.of(last);
+    }
+    return List.of(secondLast, last);
+  }
+
+  /**
+   * Returns the 64-bit Zobrist hash of this position, the same hash the models keep up to date
+   * with getPositionHash. Only the tiles and whose turn it is count towards it.
+   *
+   * @return hash of the position
+   */
+  public long positionHash() {
+    return Zobrist.hash(this);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof PackedBoard && Arrays.equals(this.data, ((PackedBoard) other).data);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(this.data);
+  }
+}
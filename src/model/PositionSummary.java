@@ -0,0 +1,97 @@
+package model;
+
+/**
+ * An immutable summary of a Reversi position: the number of tiles each player owns, the number
+ * of empty tiles, whose turn it is and how many moves have been made. Models keep these counts
+ * as the game is played, so a summary is cheap enough to ask for on every repaint.
+ */
+public final class PositionSummary {
+  private final int whiteScore;
+  private final int blackScore;
+  private final int emptyTiles;
+  private final PlayerTurn player;
+  private final int movesMade;
+
+  /**
+   * Constructor for a PositionSummary.
+   *
+   * @param whiteScore number of tiles owned by white
+   * @param blackScore number of tiles owned by black
+   * @param emptyTiles number of empty tiles
+   * @param player     the player whose turn it is
+   * @param movesMade  number of moves and passes made so far
+   */
+  public PositionSummary(int whiteScore, int blackScore, int emptyTiles, PlayerTurn player,
+                         int movesMade) {
+    this.whiteScore = whiteScore;
+    this.blackScore = blackScore;
+    this.emptyTiles = emptyTiles;
+    this.player = player;
+    this.movesMade = movesMade;
+  }
+
+  /**
+   * Returns the score of the given player.
+   *
+   * @param pt player to get the score of
+   * @return number of tiles the player owns, or 0 for OVER
+   */
+  public int getScore(PlayerTurn pt) {
+    if (pt == PlayerTurn.WHITE) {
+      return this.whiteScore;
+    } else if (pt == PlayerTurn.BLACK) {
+      return this.blackScore;
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the number of empty tiles on the board.
+   *
+   * @return number of empty tiles
+   */
+  public int getEmptyTiles() {
+    return this.emptyTiles;
+  }
+
+  /**
+   * Returns the player whose turn it is.
+   *
+   * @return the current player's turn
+   */
+  public PlayerTurn getPlayerTurn() {
+    return this.player;
+  }
+
+  /**
+   * Returns the number of moves and passes made so far.
+   *
+   * @return number of moves made
+   */
+  public int getMovesMade() {
+    return this.movesMade;
+  }
+
+  /**
+   * Returns whether both players own the same number of tiles.
+   *
+   * @return true if the scores are tied
+   */
+  public boolean isTied() {
+    return this.whiteScore == this.blackScore;
+  }
+
+  /**
+   * Returns the player with the higher score.
+   *
+   * @return WHITE or BLACK, whichever owns more tiles
+   * @throws IllegalStateException if the scores are tied, so neither leads
+   */
+  public PlayerTurn getLeader() throws IllegalStateException {
+    if (this.isTied()) {
+      throw new IllegalStateException("Neither player leads; the scores are tied at "
+              + this.whiteScore + ".");
+    }
+    return this.whiteScore > this.blackScore ? PlayerTurn.WHITE : PlayerTurn.BLACK;
+  }
+}
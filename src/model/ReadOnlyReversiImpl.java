@@ -5,6 +5,8 @@ import java.util.Objects;
 
 /**
  * A Read-only implementation of Reversi, to be used for observation without mutating the original.
+ * This is a live view: every read goes straight to the wrapped model, so it always sees the
+ * current position and copies nothing. Readers that cache can watch getVersion to know when.
  */
 public class ReadOnlyReversiImpl implements ReadOnlyReversiModel {
   private final IReversiModel model;
@@ -28,14 +30,35 @@ public class ReadOnlyReversiImpl implements ReadOnlyReversiModel {
     return model.getTileAt(q, r, s);
   }
 
+  @Override
+  public Tile getTileAtIndex(int index) throws IllegalArgumentException {
+    return model.getTileAtIndex(index);
+  }
+
+  @Override
+  public int getIndexOf(int q, int r, int s) throws IllegalArgumentException {
+    return model.getIndexOf(q, r, s);
+  }
+
+  @Override
+  public int getNumTiles() {
+    return model.getNumTiles();
+  }
+
   @Override
   public int getRadius() {
     return model.getRadius();
   }
 
+  @Override
+  public BoardShape getShape() {
+    return model.getShape();
+  }
+
   @Override
   public ReadOnlyReversiModel getCopy() {
-    return model.getCopy();
+    // wrapped again so the copy can't be cast back to a model that can be played on
+    return new ReadOnlyReversiImpl(model.getCopy());
   }
 
   @Override
@@ -43,6 +66,11 @@ public class ReadOnlyReversiImpl implements ReadOnlyReversiModel {
     return model.getScore(pt);
   }
 
+  @Override
+  public PositionSummary getPositionSummary() {
+    return model.getPositionSummary();
+  }
+
   @Override
   public PlayerTurn getPlayerTurn() {
     return model.getPlayerTurn();
@@ -53,6 +81,56 @@ public class ReadOnlyReversiImpl implements ReadOnlyReversiModel {
     return model.isMoveValid(q, r, s);
   }
 
+  @Override
+  public PackedBoard toPackedBoard() {
+    return model.toPackedBoard();
+  }
+
+  @Override
+  public int[] getLegalMoves() {
+    return model.getLegalMoves();
+  }
+
+  @Override
+  public int nextLegalMove(int from) {
+    return model.nextLegalMove(from);
+  }
+
+  @Override
+  public int[] getFlipCounts() {
+    return model.getFlipCounts();
+  }
+
+  @Override
+  public FillType getFillAtIndex(int index) throws IllegalArgumentException {
+    return model.getFillAtIndex(index);
+  }
+
+  @Override
+  public void readFills(FillType[] dest) throws IllegalArgumentException {
+    model.readFills(dest);
+  }
+
+  @Override
+  public long getVersion() {
+    return model.getVersion();
+  }
+
+  @Override
+  public boolean isStarted() {
+    return model.isStarted();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return model.getPositionHash();
+  }
+
+  @Override
+  public int[] getMoveHistory() {
+    return model.getMoveHistory();
+  }
+
   @Override
   public ArrayList<Tile> copyTiles() {
     return this.model.copyTiles();
@@ -9,7 +9,8 @@ public interface ReadOnlyReversiModel {
   /**
    * Returns a boolean representing whether the current Reversi
    * game is over or not. A game is defined as over when both players
-   * pass one after the other, forced or not.
+   * pass one after the other, forced or not, or when neither player can move.
+   * The answer is worked out once per position and does not notify listeners.
    *
    * @return whether the game is over
    * @throws IllegalStateException if the game hasn't started yet
@@ -17,7 +18,8 @@ public interface ReadOnlyReversiModel {
   boolean isGameOver() throws IllegalStateException;
 
   /**
-   * Gets the tile at the given coordinates.
+   * Gets the tile at the given coordinates. Models hand out one shared, immutable tile per
+   * coordinate and FillType, so reads allocate nothing; getClone gives a tile that can change.
    *
    * @param q the q coordinate of the tile in a cube coordinate system
    * @param r the r coordinate of the tile in a cube coordinate system
@@ -29,6 +31,36 @@ public interface ReadOnlyReversiModel {
   Tile getTileAt(int q, int r, int s)
           throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Gets the tile stored at the given index of the board. Indices run from 0 to
+   * getNumTiles() - 1 and each one maps to exactly one coordinate on the board, so this
+   * skips the coordinate validation done by getTileAt.
+   *
+   * @param index the index of the tile on the board
+   * @return the shared, immutable tile at the given index
+   * @throws IllegalArgumentException if the index is not on the board
+   */
+  Tile getTileAtIndex(int index) throws IllegalArgumentException;
+
+  /**
+   * Returns the index of the tile at the given coordinates, as getTileAtIndex takes it. Square
+   * boards ignore s.
+   *
+   * @param q the q (or x) coordinate of the tile
+   * @param r the r (or y) coordinate of the tile
+   * @param s the s coordinate of the tile
+   * @return the index of the tile
+   * @throws IllegalArgumentException if the coordinates are not on the board
+   */
+  int getIndexOf(int q, int r, int s) throws IllegalArgumentException;
+
+  /**
+   * Returns the number of tiles on the board.
+   *
+   * @return number of tiles on the board
+   */
+  int getNumTiles();
+
   /**
    * Returns the radius of the hexagonal board that is being used to play.
    *
@@ -37,7 +69,14 @@ public interface ReadOnlyReversiModel {
   int getRadius();
 
   /**
-   * returns a copy of the board.
+   * Returns the shape of the board that is being used to play.
+   *
+   * @return the board's shape
+   */
+  BoardShape getShape();
+
+  /**
+   * returns a copy of the board. The copy does not follow later changes to this board.
    *
    * @return copy of tiles
    */
@@ -51,6 +90,14 @@ public interface ReadOnlyReversiModel {
    */
   int getScore(PlayerTurn pt);
 
+  /**
+   * Returns a summary of the current position: both scores, the number of empty tiles, whose
+   * turn it is and how many moves have been made. Does not scan the board.
+   *
+   * @return summary of the current position
+   */
+  PositionSummary getPositionSummary();
+
   /**
    * Who's turn is it right now.
    *
@@ -69,7 +116,95 @@ public interface ReadOnlyReversiModel {
   boolean isMoveValid(int q, int r, int s);
 
   /**
-   * Get a deep copy of list of tiles (this.tiles).
+   * Packs the current position, two bits per tile, for saving, hashing or handing to another
+   * thread. Every model of the same shape and radius can load it back.
+   *
+   * @return the packed position
+   */
+  PackedBoard toPackedBoard();
+
+  /**
+   * Returns the index of every tile the current player could legally place on, in ascending
+   * order, found in one pass over the board instead of one isMoveValid call per tile.
+   *
+   * @return indices of the legal moves, empty if the current player has to pass
+   */
+  int[] getLegalMoves();
+
+  /**
+   * Returns the lowest index of a tile the current player could legally place on that is no
+   * lower than from, without allocating. Walks every legal move with
+   * {@code for (int i = nextLegalMove(0); i >= 0; i = nextLegalMove(i + 1))}.
+   *
+   * @param from the lowest index to consider
+   * @return index of the next legal move, or -1 if there are no more
+   */
+  int nextLegalMove(int from);
+
+  /**
+   * Returns how many tiles the current player would flip by placing on each tile of the board,
+   * all found in one sweep. Unlike countFlipsForMove, the placed tile itself is not counted.
+   *
+   * @return an array indexed like getTileAtIndex, holding the number of tiles each move would
+   *         flip, or 0 where the move is not legal
+   */
+  int[] getFlipCounts();
+
+  /**
+   * Gets the FillType of the tile at the given index, straight from the model's storage.
+   *
+   * @param index the index of the tile on the board
+   * @return FillType of that tile
+   * @throws IllegalArgumentException if the index is not on the board
+   */
+  FillType getFillAtIndex(int index) throws IllegalArgumentException;
+
+  /**
+   * Copies the FillType of every tile into the given array, by index, so a reader can keep one
+   * array and refresh it without allocating.
+   *
+   * @param dest array to fill, at least getNumTiles() long
+   * @throws IllegalArgumentException if dest is too short
+   */
+  void readFills(FillType[] dest) throws IllegalArgumentException;
+
+  /**
+   * Returns a stamp that changes every time the position changes: a move, a pass, taking one
+   * back, or starting the game. Readers that cache what they read can compare stamps to tell
+   * whether their cache is stale.
+   *
+   * @return the current version of the position
+   */
+  long getVersion();
+
+  /**
+   * Returns whether the game has been started.
+   *
+   * @return true once startGame has been called, or a started game loaded or copied
+   */
+  boolean isStarted();
+
+  /**
+   * Returns the 64-bit Zobrist hash of the position: the tiles of each player and whose turn it
+   * is. It is kept up to date move by move, and equals toPackedBoard().positionHash(), so the
+   * same position hashes the same in every model of the same board.
+   *
+   * @return hash of the position
+   */
+  long getPositionHash();
+
+  /**
+   * Returns every move of the game so far, oldest first: the index of the tile placed on, -1
+   * for a pass, or -2 for a placement made before the game was loaded from a PackedBoard, which
+   * only keeps whether the last two moves were passes.
+   *
+   * @return a new array of the moves, as a replay constructor takes them
+   */
+  int[] getMoveHistory();
+
+  /**
+   * Get a deep copy of list of tiles, by index. Unlike the shared tiles getTileAtIndex returns,
+   * the copies can be changed without affecting the model.
    *
    * @return deep copy of the board
    */
@@ -0,0 +1,323 @@
+package model;
+
+/**
+ * A model for square Reversi on boards up to 64 tiles wide (radius 32) that keeps each player's
+ * tiles as one long per row: bit y of word x is set when the player owns the tile at (x, y).
+ * Tile indices match those of a SquareReversiModel of the same radius.
+ * Legal moves are generated for the whole board at once: for each direction the board is shifted
+ * bit-wise inside each word for the y component and word-wise across the array for the x
+ * component, and a Kogge-Stone fill finds every run of opposing tiles in a logarithmic number of
+ * shifts. Flips for a single move walk the eight rays over the words directly.
+ */
+public class RowBitboardSquareReversiModel extends AReversiModel {
+  /**
+   * The largest radius whose rows fit in a single long.
+   */
+  public static final int MAX_RADIUS = 32;
+  /**
+   * The eight directions (x, y) a row of tiles can be flipped along.
+   */
+  private static final int[][] DIRECTIONS = {
+    {0, -1}, {0, 1}, {-1, 0}, {1, 0}, {1, -1}, {-1, 1}, {-1, -1}, {1, 1}
+  };
+  /**
+   * Scratch boards for move generation, one set per thread and wide enough for any board: the
+   * generator, the propagator, a shifted board and the moves found. Move generation only reads
+   * the model and calls nothing that generates moves, so a thread never uses its set twice at
+   * once, and several threads can generate moves on one model.
+   */
+  private static final ThreadLocal<long[][]> SCRATCH =
+          ThreadLocal.withInitial(() -> new long[4][Long.SIZE]);
+
+  /**
+   * Number of tiles along a side of the board.
+   */
+  private final int side;
+  /**
+   * The bits of a word that are on the board.
+   */
+  private final long rowMask;
+  /**
+   * The shared topology of a board this size, whose tiles getTileAtIndex hands out.
+   */
+  private final BoardTopology topology;
+  /**
+   * Tiles owned by white, one word per x.
+   */
+  private final long[] white;
+  /**
+   * Tiles owned by black, one word per x.
+   */
+  private final long[] black;
+
+  /**
+   * Basic RowBitboardSquareReversiModel constructor, sets up the starting board.
+   *
+   * @param radius the radius of the board, even and from 2 to MAX_RADIUS
+   * @throws IllegalArgumentException if the radius is odd or out of that range
+   */
+  public RowBitboardSquareReversiModel(int radius) {
+    this(radius, new long[2 * Math.max(radius, 0)], new long[2 * Math.max(radius, 0)],
+            new MoveHistory(), PlayerTurn.WHITE, false);
+    this.white[radius - 1] |= 1L << (radius - 1);
+    this.white[radius] |= 1L << radius;
+    this.black[radius] |= 1L << (radius - 1);
+    this.black[radius - 1] |= 1L << radius;
+  }
+
+  /**
+   * Constructor that replays a recorded game, such as one saved with getMoveHistory, from the
+   * starting position without notifying anyone. The game is started.
+   *
+   * @param radius half the width of the board, even and from 2 to MAX_RADIUS
+   * @param moves  the moves to play, oldest first, with -1 for a pass
+   * @throws IllegalArgumentException if the board size is invalid or a move is not legal
+   */
+  public RowBitboardSquareReversiModel(int radius, int[] moves) {
+    this(radius);
+    this.replay(moves);
+  }
+
+  /**
+   * Constructor that loads a packed position, such as one saved with toPackedBoard.
+   *
+   * @param board the position to load
+   * @throws IllegalArgumentException if the board is not a square board of a supported size
+   */
+  public RowBitboardSquareReversiModel(PackedBoard board) {
+    this(board.getRadius());
+    this.loadPackedBoard(board);
+  }
+
+  private RowBitboardSquareReversiModel(int radius, long[] white, long[] black,
+                                        MoveHistory history, PlayerTurn pt, boolean started) {
+    super(radius, history, pt, started);
+    if (radius < 2 || radius % 2 == 1 || radius > MAX_RADIUS) {
+      throw new IllegalArgumentException("Invalid radius parameter");
+    }
+    this.side = 2 * radius;
+    this.rowMask = this.side == Long.SIZE ? -1L : (1L << this.side) - 1;
+    this.topology = BoardTopology.square(radius);
+    this.white = white;
+    this.black = black;
+  }
+
+  /**
+   * Shifts every tile of src by (dx, dy) into dest, dropping tiles that leave the board.
+   */
+  private void shiftInto(long[] src, int dx, int dy, long[] dest) {
+    for (int x = 0; x < this.side; x++) {
+      int from = x - dx;
+      if (from < 0 || from >= this.side) {
+        dest[x] = 0L;
+      } else {
+        dest[x] = (dy >= 0 ? src[from] << dy : src[from] >>> -dy) & this.rowMask;
+      }
+    }
+  }
+
+  /**
+   * Finds every empty tile that the owner of mine could legally place on, in one bulk pass per
+   * direction. Works in the calling thread's scratch boards, so it only reads this model and can
+   * run on several threads at once.
+   *
+   * @param mine        tiles of the player to move
+   * @param theirs      tiles of the opposing player
+   * @param moves       filled with a bit set on every legal move, one word per x
+   * @param stopAtFirst whether to stop after the first direction that yields a move, leaving
+   *                    moves holding only the moves found so far
+   * @return whether there is any legal move
+   */
+  private boolean legalMovesInto(long[] mine, long[] theirs, long[] moves, boolean stopAtFirst) {
+    long[][] scratch = SCRATCH.get();
+    long[] gen = scratch[0];
+    long[] pro = scratch[1];
+    long[] shifted = scratch[2];
+    for (int x = 0; x < this.side; x++) {
+      moves[x] = 0L;
+    }
+    boolean found = false;
+    for (int[] dir : DIRECTIONS) {
+      System.arraycopy(mine, 0, gen, 0, this.side);
+      System.arraycopy(theirs, 0, pro, 0, this.side);
+      for (int step = 1; step < this.side; step <<= 1) {
+        shiftInto(gen, dir[0] * step, dir[1] * step, shifted);
+        for (int x = 0; x < this.side; x++) {
+          gen[x] |= pro[x] & shifted[x];
+        }
+        shiftInto(pro, dir[0] * step, dir[1] * step, shifted);
+        for (int x = 0; x < this.side; x++) {
+          pro[x] &= shifted[x];
+        }
+      }
+      for (int x = 0; x < this.side; x++) {
+        gen[x] &= theirs[x];
+      }
+      shiftInto(gen, dir[0], dir[1], shifted);
+      for (int x = 0; x < this.side; x++) {
+        long added = shifted[x] & ~(mine[x] | theirs[x]);
+        moves[x] |= added;
+        found |= added != 0;
+      }
+      if (found && stopAtFirst) {
+        return true;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Returns the legal moves of the given FillType as one word per x, with bit y set when (x, y)
+   * is a legal move.
+   *
+   * @param ft the FillType to find moves for
+   * @return the legal moves of ft
+   */
+  public long[] getLegalMoveRows(FillType ft) {
+    long[] moves = new long[this.side];
+    this.legalMovesInto(this.tilesOf(ft), this.tilesAgainst(ft), moves, false);
+    return moves;
+  }
+
+  private long[] tilesOf(FillType ft) {
+    return ft == FillType.WHITE ? this.white : this.black;
+  }
+
+  private long[] tilesAgainst(FillType ft) {
+    return ft == FillType.WHITE ? this.black : this.white;
+  }
+
+  private static boolean has(long[] board, int x, int y) {
+    return (board[x] >>> y & 1L) != 0;
+  }
+
+  // returns the number of opposing tiles in a row from (x, y) along dir that end in a tile
+  // owned by mine, or 0 if the row runs into an empty tile or the edge of the board
+  private int countFlipsInDirection(int x, int y, int[] dir, long[] mine, long[] theirs) {
+    int currX = x + dir[0];
+    int currY = y + dir[1];
+    for (int i = 1; currX >= 0 && currX < this.side && currY >= 0 && currY < this.side; i++) {
+      if (has(mine, currX, currY)) {
+        return i - 1;
+      } else if (!has(theirs, currX, currY)) {
+        return 0;
+      }
+      currX += dir[0];
+      currY += dir[1];
+    }
+    return 0;
+  }
+
+  @Override
+  public BoardShape getShape() {
+    return BoardShape.SQUARE;
+  }
+
+  @Override
+  protected int indexOf(int x, int y, int extra) {
+    return x * this.side + y;
+  }
+
+  @Override
+  protected FillType fillAt(int index) {
+    int x = index / this.side;
+    int y = index % this.side;
+    if (has(this.white, x, y)) {
+      return FillType.WHITE;
+    } else if (has(this.black, x, y)) {
+      return FillType.BLACK;
+    }
+    return FillType.EMPTY;
+  }
+
+  @Override
+  protected int countFlips(int index, FillType ft) {
+    int x = index / this.side;
+    int y = index % this.side;
+    int count = 0;
+    for (int[] dir : DIRECTIONS) {
+      count += countFlipsInDirection(x, y, dir, this.tilesOf(ft), this.tilesAgainst(ft));
+    }
+    return count;
+  }
+
+  @Override
+  protected int applyMove(int index, FillType ft, int[] flipped) {
+    int x = index / this.side;
+    int y = index % this.side;
+    long[] mine = this.tilesOf(ft);
+    long[] theirs = this.tilesAgainst(ft);
+    int count = 0;
+    for (int[] dir : DIRECTIONS) {
+      int flips = countFlipsInDirection(x, y, dir, mine, theirs);
+      for (int i = 1; i <= flips; i++) {
+        int currX = x + dir[0] * i;
+        int currY = y + dir[1] * i;
+        mine[currX] |= 1L << currY;
+        theirs[currX] &= ~(1L << currY);
+        if (flipped != null) {
+          flipped[count] = currX * this.side + currY;
+        }
+        count++;
+      }
+    }
+    mine[x] |= 1L << y;
+    return count;
+  }
+
+  @Override
+  protected void setFill(int index, FillType ft) {
+    int x = index / this.side;
+    long bit = 1L << (index % this.side);
+    this.white[x] = ft == FillType.WHITE ? this.white[x] | bit : this.white[x] & ~bit;
+    this.black[x] = ft == FillType.BLACK ? this.black[x] | bit : this.black[x] & ~bit;
+  }
+
+  @Override
+  protected int[] findLegalMoves(FillType ft) {
+    long[] moves = SCRATCH.get()[3];
+    this.legalMovesInto(this.tilesOf(ft), this.tilesAgainst(ft), moves, false);
+    int count = 0;
+    for (int x = 0; x < this.side; x++) {
+      count += Long.bitCount(moves[x]);
+    }
+    int[] indices = new int[count];
+    int i = 0;
+    for (int x = 0; x < this.side; x++) {
+      for (long row = moves[x]; row != 0; row &= row - 1) {
+        indices[i++] = x * this.side + Long.numberOfTrailingZeros(row);
+      }
+    }
+    return indices;
+  }
+
+  @Override
+  protected boolean hasValidMove(FillType ft) {
+    return this.legalMovesInto(this.tilesOf(ft), this.tilesAgainst(ft), SCRATCH.get()[3], true);
+  }
+
+  @Override
+  public Tile getTileAtIndex(int index) throws IllegalArgumentException {
+    throwIfBadIndex(index);
+    return this.topology.tile(index, this.fillAt(index));
+  }
+
+  @Override
+  public int getNumTiles() {
+    return this.side * this.side;
+  }
+
+  @Override
+  public IReversiModel getCopy() {
+    RowBitboardSquareReversiModel copy = new RowBitboardSquareReversiModel(this.radius,
+            this.white.clone(), this.black.clone(), new MoveHistory(this.history),
+            this.player, this.isStarted);
+    copy.copyCachesFrom(this);
+    return copy;
+  }
+
+  @Override
+  public boolean doCoordsExist(int x, int y, int extra) {
+    return !(x < 0 || x >= this.side || y < 0 || y >= this.side);
+  }
+}
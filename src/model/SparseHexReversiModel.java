@@ -0,0 +1,400 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A hexagonal Reversi model for huge boards, radius 100 and up, where a full tile array and a
+ * BoardTopology with precomputed rays would cost far more memory than the few discs actually
+ * played. Only taken tiles are stored, in a hash map keyed by the tile's index, and every
+ * missing tile is empty. Indices are the same closed-form column-major indices the other hex
+ * models use, so coordinates are computed from an index rather than looked up, and a flip walk
+ * stops at the first empty tile, so it never goes further than the discs played so far. Legal
+ * moves are only looked for on the frontier of empty tiles next to a taken tile, and large
+ * frontiers are split across the common fork-join pool.
+ */
+public class SparseHexReversiModel extends AReversiModel {
+  /**
+   * Frontiers smaller than this are searched on the calling thread, unless a model is made with
+   * another threshold.
+   */
+  public static final int PARALLEL_THRESHOLD = 2048;
+  private static final byte WHITE = 1;
+  private static final byte BLACK = 2;
+  private static final byte NONE = 0;
+
+  private final int numTiles;
+  /**
+   * Frontiers smaller than this are searched on the calling thread, and larger ones are split
+   * into parts of at most this many tiles.
+   */
+  private final int parallelThreshold;
+  /**
+   * WHITE or BLACK for every taken tile, by index.
+   */
+  private final IntByteMap taken;
+  /**
+   * The empty tiles next to a taken tile, the only tiles that can be legal moves.
+   */
+  private final IntByteMap frontier;
+  /**
+   * The shared immutable tiles handed out by getTileAtIndex, one array per column of constant q
+   * holding the tiles of every FillType. A column is built whole the first time it is read and
+   * published with a compare-and-set, so copies read from other threads can share it safely.
+   */
+  private final AtomicReferenceArray<Tile[]> tiles;
+
+  /**
+   * Constructor for a new game on a hexagonal board of the given radius, with white to move
+   * first and the same starting tiles as HexReversiModel.
+   *
+   * @param radius the radius of the hexagonal grid, at least 2
+   * @throws IllegalArgumentException if the radius is less than 2
+   */
+  public SparseHexReversiModel(int radius) {
+    this(radius, PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Constructor for a new game like SparseHexReversiModel(radius), searching frontiers of at
+   * least parallelThreshold tiles for legal moves in parallel instead of PARALLEL_THRESHOLD.
+   *
+   * @param radius            the radius of the hexagonal grid, at least 2
+   * @param parallelThreshold the smallest frontier to split across threads, at least 1
+   * @throws IllegalArgumentException if the radius is less than 2 or the threshold less than 1
+   */
+  public SparseHexReversiModel(int radius, int parallelThreshold) {
+    super(radius, new MoveHistory(), PlayerTurn.WHITE, false);
+    if (radius < 2) {
+      throw new IllegalArgumentException("Invalid radius parameter");
+    }
+    if (parallelThreshold < 1) {
+      throw new IllegalArgumentException("Invalid parallel threshold: " + parallelThreshold);
+    }
+    this.parallelThreshold = parallelThreshold;
+    this.numTiles = BoardShape.HEX.numTiles(radius);
+    this.taken = new IntByteMap();
+    this.frontier = new IntByteMap();
+    this.tiles = new AtomicReferenceArray<>(2 * radius - 1);
+    this.setFill(this.indexOf(0, 1, -1), FillType.WHITE);
+    this.setFill(this.indexOf(1, -1, 0), FillType.WHITE);
+    this.setFill(this.indexOf(-1, 0, 1), FillType.WHITE);
+    this.setFill(this.indexOf(0, -1, 1), FillType.BLACK);
+    this.setFill(this.indexOf(1, 0, -1), FillType.BLACK);
+    this.setFill(this.indexOf(-1, 1, 0), FillType.BLACK);
+  }
+
+  /**
+   * Constructor that replays a recorded game, such as one saved with getMoveHistory, from the
+   * starting position without notifying anyone. The game is started.
+   *
+   * @param radius the radius of the hexagonal grid, at least 2
+   * @param moves  the moves to play, oldest first, with -1 for a pass
+   * @throws IllegalArgumentException if the board size is invalid or a move is not legal
+   */
+  public SparseHexReversiModel(int radius, int[] moves) {
+    this(radius);
+    this.replay(moves);
+  }
+
+  /**
+   * Constructor that loads a packed position, such as one saved with toPackedBoard.
+   *
+   * @param board the position to load
+   * @throws IllegalArgumentException if the board is not a hexagonal board of a supported size
+   */
+  public SparseHexReversiModel(PackedBoard board) {
+    this(board.getRadius());
+    this.loadPackedBoard(board);
+  }
+
+  private SparseHexReversiModel(SparseHexReversiModel other) {
+    super(other.radius, new MoveHistory(other.history), other.player, other.isStarted);
+    this.numTiles = other.numTiles;
+    this.parallelThreshold = other.parallelThreshold;
+    this.taken = new IntByteMap(other.taken);
+    this.frontier = new IntByteMap(other.frontier);
+    this.tiles = other.tiles;
+    this.copyCachesFrom(other);
+  }
+
+  @Override
+  public BoardShape getShape() {
+    return BoardShape.HEX;
+  }
+
+  @Override
+  protected int indexOf(int q, int r, int s) {
+    return BoardTopology.hexColumnStart(this.radius, q)
+            + Math.min(this.radius - 1, this.radius - 1 - q) - r;
+  }
+
+  // returns whether (q, r, -q - r) is on the board
+  private boolean contains(int q, int r) {
+    return Math.abs(q) < this.radius && Math.abs(r) < this.radius
+            && Math.abs(q + r) < this.radius;
+  }
+
+  // returns the q coordinate of the tile at index, by binary search over the column starts
+  private int qOf(int index) {
+    int low = -this.radius + 1;
+    int high = this.radius - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >> 1;
+      if (BoardTopology.hexColumnStart(this.radius, mid) <= index) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  // returns the r coordinate of the tile at index, in the column of constant q
+  private int rOf(int index, int q) {
+    return Math.min(this.radius - 1, this.radius - 1 - q)
+            - (index - BoardTopology.hexColumnStart(this.radius, q));
+  }
+
+  /**
+   * Returns whether there is a tile at position (q, r, s).
+   *
+   * @param q the q coordinate of the tile
+   * @param r the r coordinate of the tile
+   * @param s the s coordinate of the tile
+   * @return whether (q, r, s) is a valid tile.
+   */
+  @Override
+  public boolean doCoordsExist(int q, int r, int s) {
+    return q + r + s == 0 && this.contains(q, r);
+  }
+
+  @Override
+  public IReversiModel getCopy() {
+    return new SparseHexReversiModel(this);
+  }
+
+  @Override
+  protected FillType fillAt(int index) {
+    switch (this.taken.get(index, NONE)) {
+      case WHITE:
+        return FillType.WHITE;
+      case BLACK:
+        return FillType.BLACK;
+      default:
+        return FillType.EMPTY;
+    }
+  }
+
+  @Override
+  protected int countFlips(int index, FillType ft) {
+    int q = this.qOf(index);
+    int r = this.rOf(index, q);
+    int count = 0;
+    for (int[] dir : BoardTopology.HEX_DIRECTIONS) {
+      count += this.countFlipsAlong(q, r, dir, ft);
+    }
+    return count;
+  }
+
+  // returns the number of opposing tiles from (q, r) along dir that end in a tile of FillType
+  // ft, or 0 if they run into an empty tile or the edge of the board
+  private int countFlipsAlong(int q, int r, int[] dir, FillType ft) {
+    int count = 0;
+    int currQ = q + dir[0];
+    int currR = r + dir[1];
+    while (this.contains(currQ, currR)) {
+      FillType curr = this.fillAt(this.indexOf(currQ, currR, 0));
+      if (curr == ft) {
+        return count;
+      } else if (curr == FillType.EMPTY) {
+        return 0;
+      }
+      count++;
+      currQ += dir[0];
+      currR += dir[1];
+    }
+    return 0;
+  }
+
+  @Override
+  protected int applyMove(int index, FillType ft, int[] flipped) {
+    int q = this.qOf(index);
+    int r = this.rOf(index, q);
+    byte value = ft == FillType.WHITE ? WHITE : BLACK;
+    int count = 0;
+    for (int[] dir : BoardTopology.HEX_DIRECTIONS) {
+      int flips = this.countFlipsAlong(q, r, dir, ft);
+      for (int i = 1; i <= flips; i++) {
+        int curr = this.indexOf(q + dir[0] * i, r + dir[1] * i, 0);
+        this.taken.put(curr, value);
+        if (flipped != null) {
+          flipped[count] = curr;
+        }
+        count++;
+      }
+    }
+    this.taken.put(index, value);
+    this.tileTaken(index, q, r);
+    return count;
+  }
+
+  @Override
+  protected void setFill(int index, FillType ft) {
+    FillType old = this.fillAt(index);
+    if (ft == FillType.EMPTY) {
+      this.taken.remove(index);
+    } else {
+      this.taken.put(index, ft == FillType.WHITE ? WHITE : BLACK);
+    }
+    int q = this.qOf(index);
+    int r = this.rOf(index, q);
+    if (old == FillType.EMPTY && ft != FillType.EMPTY) {
+      this.tileTaken(index, q, r);
+    } else if (old != FillType.EMPTY && ft == FillType.EMPTY) {
+      this.tileEmptied(index, q, r);
+    }
+  }
+
+  // updates the frontier after the tile at (q, r) was taken
+  private void tileTaken(int index, int q, int r) {
+    this.frontier.remove(index);
+    for (int[] dir : BoardTopology.HEX_DIRECTIONS) {
+      if (this.contains(q + dir[0], r + dir[1])) {
+        int neighbour = this.indexOf(q + dir[0], r + dir[1], 0);
+        if (!this.taken.contains(neighbour)) {
+          this.frontier.put(neighbour, WHITE);
+        }
+      }
+    }
+  }
+
+  // updates the frontier after the tile at (q, r) was emptied
+  private void tileEmptied(int index, int q, int r) {
+    if (this.touchesTakenTile(q, r)) {
+      this.frontier.put(index, WHITE);
+    }
+    for (int[] dir : BoardTopology.HEX_DIRECTIONS) {
+      int nextQ = q + dir[0];
+      int nextR = r + dir[1];
+      if (this.contains(nextQ, nextR)) {
+        int neighbour = this.indexOf(nextQ, nextR, 0);
+        if (!this.taken.contains(neighbour) && !this.touchesTakenTile(nextQ, nextR)) {
+          this.frontier.remove(neighbour);
+        }
+      }
+    }
+  }
+
+  private boolean touchesTakenTile(int q, int r) {
+    for (int[] dir : BoardTopology.HEX_DIRECTIONS) {
+      if (this.contains(q + dir[0], r + dir[1])
+              && this.taken.contains(this.indexOf(q + dir[0], r + dir[1], 0))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  protected int[] findLegalMoves(FillType ft) {
+    int[] candidates = this.frontier.keys();
+    boolean[] legal = new boolean[candidates.length];
+    MoveSearch search = new MoveSearch(this, candidates, legal, ft, 0, candidates.length);
+    if (candidates.length < this.parallelThreshold) {
+      search.compute();
+    } else {
+      ForkJoinPool.commonPool().invoke(search);
+    }
+    int[] moves = new int[candidates.length];
+    int count = 0;
+    for (int i = 0; i < candidates.length; i++) {
+      if (legal[i]) {
+        moves[count++] = candidates[i];
+      }
+    }
+    moves = Arrays.copyOf(moves, count);
+    Arrays.sort(moves);
+    return moves;
+  }
+
+  /**
+   * Marks which of a range of frontier tiles of a model are legal moves, splitting large ranges
+   * in half so the halves can run in parallel. Only reads the board, which does not change while
+   * a search runs. Tasks are never serialized; RecursiveAction just happens to be Serializable.
+   */
+  private static final class MoveSearch extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient SparseHexReversiModel model;
+    private final int[] candidates;
+    private final boolean[] legal;
+    private final FillType ft;
+    private final int from;
+    private final int to;
+
+    private MoveSearch(SparseHexReversiModel model, int[] candidates, boolean[] legal,
+                       FillType ft, int from, int to) {
+      this.model = model;
+      this.candidates = candidates;
+      this.legal = legal;
+      this.ft = ft;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > this.model.parallelThreshold) {
+        int mid = (this.from + this.to) >>> 1;
+        invokeAll(this.part(this.from, mid), this.part(mid, this.to));
+        return;
+      }
+      for (int i = this.from; i < this.to; i++) {
+        this.legal[i] = this.model.countFlips(this.candidates[i], this.ft) != 0;
+      }
+    }
+
+    // the search of the candidates from index from up to index to
+    private MoveSearch part(int from, int to) {
+      return new MoveSearch(this.model, this.candidates, this.legal, this.ft, from, to);
+    }
+  }
+
+  @Override
+  public Tile getTileAtIndex(int index) throws IllegalArgumentException {
+    throwIfBadIndex(index);
+    int q = this.qOf(index);
+    int length = 2 * this.radius - 1 - Math.abs(q);
+    Tile[] column = this.tiles.get(q + this.radius - 1);
+    if (column == null) {
+      column = this.buildColumn(q, length);
+      if (!this.tiles.compareAndSet(q + this.radius - 1, null, column)) {
+        // another thread built the column first, so use theirs
+        column = this.tiles.get(q + this.radius - 1);
+      }
+    }
+    FillType ft = this.fillAt(index);
+    return column[ft.ordinal() * length + index - BoardTopology.hexColumnStart(this.radius, q)];
+  }
+
+  // builds the tiles of every FillType in the column of constant q, which holds length tiles
+  private Tile[] buildColumn(int q, int length) {
+    int start = BoardTopology.hexColumnStart(this.radius, q);
+    Tile[] column = new Tile[FillType.values().length * length];
+    for (FillType ft : FillType.values()) {
+      for (int i = 0; i < length; i++) {
+        int r = this.rOf(start + i, q);
+        column[ft.ordinal() * length + i] = InternedTile.hex(q, r, -q - r, ft);
+      }
+    }
+    return column;
+  }
+
+  @Override
+  public int getNumTiles() {
+    return this.numTiles;
+  }
+}
@@ -0,0 +1,197 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A Reversi model that plays on any board described by a BoardTopology. Keeps the FillType of
+ * every tile in an array indexed like the topology, walks the topology's precomputed rays to
+ * find flips, and only looks for legal moves on the frontier of empty tiles next to a taken
+ * tile. The tiles and the frontier are copy-on-write, so getCopy shares them with the original
+ * and only the chunks a move then touches get copied. HexReversiModel and SquareReversiModel
+ * are this model on their own topologies.
+ */
+public class TopologyReversiModel extends AReversiModel {
+  private static final FillType[] FILLS = FillType.values();
+  private static final int EMPTY = FillType.EMPTY.ordinal();
+
+  /**
+   * The shared coordinates, rays and starting tiles of the board.
+   */
+  private final BoardTopology topology;
+  /**
+   * The FillType ordinal of every tile, by the tile's index in the topology.
+   */
+  private final ChunkedIntArray cells;
+  /**
+   * The empty tiles next to a taken tile, the only tiles that can be legal moves.
+   */
+  private final Frontier frontier;
+
+  /**
+   * Constructor for a new game on the given board, with white to move first.
+   *
+   * @param topology the board to play on
+   */
+  public TopologyReversiModel(BoardTopology topology) {
+    super(topology.getRadius(), new MoveHistory(), PlayerTurn.WHITE, false);
+    this.topology = topology;
+    FillType[] start = topology.startingBoard();
+    this.cells = new ChunkedIntArray(start.length, EMPTY);
+    for (int index = 0; index < start.length; index++) {
+      this.cells.set(index, start[index].ordinal());
+    }
+    this.frontier = new Frontier(topology, this.cells);
+  }
+
+  /**
+   * Copy constructor, for getCopy. The copy is started if other is, has no listeners, and shares
+   * its tiles with other until either one changes them.
+   *
+   * @param other the model to copy
+   */
+  protected TopologyReversiModel(TopologyReversiModel other) {
+    super(other.radius, new MoveHistory(other.history), other.player, other.isStarted);
+    this.topology = other.topology;
+    this.cells = new ChunkedIntArray(other.cells);
+    this.frontier = new Frontier(other.frontier);
+    this.copyCachesFrom(other);
+  }
+
+  @Override
+  public BoardShape getShape() {
+    return this.topology.getShape();
+  }
+
+  @Override
+  protected int indexOf(int q, int r, int s) {
+    return this.topology.indexOf(q, r, s);
+  }
+
+  /**
+   * Returns whether there is a tile at position (q, r, s). Square boards ignore s.
+   *
+   * @param q the q (or x) coordinate of the tile
+   * @param r the r (or y) coordinate of the tile
+   * @param s the s coordinate of the tile
+   * @return whether (q, r, s) is a valid tile.
+   */
+  @Override
+  public boolean doCoordsExist(int q, int r, int s) {
+    return this.topology.contains(q, r, s);
+  }
+
+  @Override
+  public IReversiModel getCopy() {
+    return new TopologyReversiModel(this);
+  }
+
+  @Override
+  protected FillType fillAt(int index) {
+    return FILLS[this.cells.get(index)];
+  }
+
+  @Override
+  protected int countFlips(int index, FillType ft) {
+    int count = 0;
+    for (int dir = 0; dir < this.topology.numDirections(); dir++) {
+      count += countFlipsAlong(this.topology.ray(index, dir), ft);
+    }
+    return count;
+  }
+
+  @Override
+  protected int applyMove(int index, FillType ft, int[] flipped) {
+    int count = 0;
+    for (int dir = 0; dir < this.topology.numDirections(); dir++) {
+      int[] ray = this.topology.ray(index, dir);
+      int flips = countFlipsAlong(ray, ft);
+      for (int i = 0; i < flips; i++) {
+        this.cells.set(ray[i], ft.ordinal());
+        if (flipped != null) {
+          flipped[count + i] = ray[i];
+        }
+      }
+      count += flips;
+    }
+    this.cells.set(index, ft.ordinal());
+    this.frontier.taken(index, this.cells);
+    return count;
+  }
+
+  @Override
+  protected void setFill(int index, FillType ft) {
+    FillType old = this.fillAt(index);
+    this.cells.set(index, ft.ordinal());
+    if (old == FillType.EMPTY && ft != FillType.EMPTY) {
+      this.frontier.taken(index, this.cells);
+    } else if (old != FillType.EMPTY && ft == FillType.EMPTY) {
+      this.frontier.emptied(index, this.cells);
+    }
+  }
+
+  @Override
+  protected int[] findLegalMoves(FillType ft) {
+    int[] moves = new int[this.frontier.size()];
+    int count = 0;
+    for (int i = 0; i < this.frontier.size(); i++) {
+      int index = this.frontier.get(i);
+      if (this.countFlips(index, ft) != 0) {
+        moves[count++] = index;
+      }
+    }
+    moves = Arrays.copyOf(moves, count);
+    Arrays.sort(moves);
+    return moves;
+  }
+
+  @Override
+  protected int[] findFlipCounts(FillType ft) {
+    // walk out from every tile of ft over a run of opposing tiles; if the run ends on an empty
+    // tile, placing there flips the run, so every ray is walked once for all moves together
+    int[] counts = new int[this.cells.size()];
+    int mine = ft.ordinal();
+    for (int index = 0; index < this.cells.size(); index++) {
+      if (this.cells.get(index) != mine) {
+        continue;
+      }
+      for (int dir = 0; dir < this.topology.numDirections(); dir++) {
+        int[] ray = this.topology.ray(index, dir);
+        int run = 0;
+        while (run < ray.length && this.cells.get(ray[run]) != mine
+                && this.cells.get(ray[run]) != EMPTY) {
+          run++;
+        }
+        if (run > 0 && run < ray.length && this.cells.get(ray[run]) == EMPTY) {
+          counts[ray[run]] += run;
+        }
+      }
+    }
+    return counts;
+  }
+
+  // returns the number of opposing tiles at the start of ray that end in a tile of FillType ft,
+  // or 0 if the ray runs into an empty tile or the edge of the board
+  private int countFlipsAlong(int[] ray, FillType ft) {
+    int mine = ft.ordinal();
+    for (int i = 0; i < ray.length; i++) {
+      int curr = this.cells.get(ray[i]);
+      if (curr == mine) {
+        return i;
+      } else if (curr == EMPTY) {
+        return 0;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public Tile getTileAtIndex(int index) throws IllegalArgumentException {
+    throwIfBadIndex(index);
+    return this.topology.tile(index, this.fillAt(index));
+  }
+
+  @Override
+  public int getNumTiles() {
+    return this.cells.size();
+  }
+}
@@ -0,0 +1,261 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size cache of search results keyed by position hash, as getPositionHash returns it, so
+ * a game-tree search does not search the same position twice however it was reached. The table
+ * lives off the Java heap in direct buffers and takes no locks, so any number of search threads
+ * and games can share one. Each entry is two longs, the hash XORed with the data and the data
+ * itself, so an entry torn by two threads writing at once, or left by another position, fails
+ * the check on probe and reads as a miss instead of as a wrong result. Entries sit in buckets of
+ * two: one kept for the deepest search of the positions that land there, and one that always
+ * takes the latest result. Data is packed into one long as returned by probe; moveOf, scoreOf,
+ * depthOf and boundOf unpack it.
+ */
+public final class TranspositionTable {
+  /**
+   * The stored score is the exact value of the position.
+   */
+  public static final int EXACT = 1;
+  /**
+   * The stored score is a lower bound, from a search that failed high.
+   */
+  public static final int LOWER_BOUND = 2;
+  /**
+   * The stored score is an upper bound, from a search that failed low.
+   */
+  public static final int UPPER_BOUND = 3;
+  /**
+   * The largest depth an entry records; deeper searches are stored as this deep.
+   */
+  public static final int MAX_DEPTH = 63;
+  /**
+   * The largest score magnitude an entry can hold.
+   */
+  public static final int MAX_SCORE = (1 << 23) - 1;
+
+  // two entries of two longs each, 32 bytes a bucket
+  private static final int LONGS_PER_BUCKET = 4;
+  private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+  // a direct buffer is indexed by int, so large tables are split into 1 GiB segments
+  private static final int SEGMENT_BITS = 25;
+
+  private final LongBuffer[] segments;
+  private final long bucketMask;
+  private final int megabytes;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder collisions;
+
+  /**
+   * Constructor for a table taking up to the given amount of memory, rounded down to a power of
+   * two number of buckets.
+   *
+   * @param megabytes memory to use, in MiB
+   * @throws IllegalArgumentException if megabytes is not positive
+   */
+  public TranspositionTable(int megabytes) throws IllegalArgumentException {
+    if (megabytes < 1) {
+      throw new IllegalArgumentException("Transposition table needs at least 1 MB, not "
+              + megabytes + ".");
+    }
+    this.megabytes = megabytes;
+    long buckets = Long.highestOneBit((long) megabytes * 1024 * 1024 / BYTES_PER_BUCKET);
+    this.bucketMask = buckets - 1;
+    int perSegment = (int) Math.min(buckets, 1L << SEGMENT_BITS);
+    this.segments = new LongBuffer[(int) (buckets / perSegment)];
+    for (int i = 0; i < this.segments.length; i++) {
+      this.segments[i] = ByteBuffer.allocateDirect(perSegment * BYTES_PER_BUCKET)
+              .order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.collisions = new LongAdder();
+  }
+
+  /**
+   * Packs the data of an entry into one long, as probe returns it.
+   *
+   * @param move  index of the best move found, or -1 if none
+   * @param score score of the position, from -MAX_SCORE to MAX_SCORE
+   * @param depth how many moves deep the score was searched, at least 0
+   * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+   * @return the packed data, never 0
+   * @throws IllegalArgumentException if any value is out of range
+   */
+  public static long pack(int move, int score, int depth, int bound)
+          throws IllegalArgumentException {
+    if (Math.abs(score) > MAX_SCORE || depth < 0 || bound < EXACT || bound > UPPER_BOUND) {
+      throw new IllegalArgumentException("Cannot store score " + score + " at depth " + depth
+              + " with bound " + bound + ".");
+    }
+    return (move & 0xFFFFFFFFL)
+            | ((long) (score & 0xFFFFFF) << 32)
+            | ((long) Math.min(depth, MAX_DEPTH) << 56)
+            | ((long) bound << 62);
+  }
+
+  /**
+   * Returns the best move of packed entry data.
+   *
+   * @param data data returned by probe
+   * @return index of the move, or -1 if none was stored
+   */
+  public static int moveOf(long data) {
+    return (int) data;
+  }
+
+  /**
+   * Returns the score of packed entry data.
+   *
+   * @param data data returned by probe
+   * @return the stored score
+   */
+  public static int scoreOf(long data) {
+    return (int) (data << 8 >> 40);
+  }
+
+  /**
+   * Returns the depth of packed entry data.
+   *
+   * @param data data returned by probe
+   * @return how many moves deep the score was searched
+   */
+  public static int depthOf(long data) {
+    return (int) (data >>> 56) & MAX_DEPTH;
+  }
+
+  /**
+   * Returns the kind of bound of packed entry data.
+   *
+   * @param data data returned by probe
+   * @return EXACT, LOWER_BOUND or UPPER_BOUND
+   */
+  public static int boundOf(long data) {
+    return (int) (data >>> 62);
+  }
+
+  /**
+   * Looks up the entry for a position.
+   *
+   * @param hash the position's hash
+   * @return the entry's packed data, or 0 if the table holds nothing for the position
+   */
+  public long probe(long hash) {
+    LongBuffer segment = this.segmentOf(hash);
+    int base = this.offsetOf(hash);
+    for (int slot = base; slot < base + LONGS_PER_BUCKET; slot += 2) {
+      long data = segment.get(slot + 1);
+      if (data != 0 && (segment.get(slot) ^ data) == hash) {
+        this.hits.increment();
+        return data;
+      }
+    }
+    this.misses.increment();
+    return 0;
+  }
+
+  /**
+   * Stores a search result for a position. It replaces the bucket's deep entry if it is for the
+   * same position or searched no deeper, and the bucket's other entry otherwise.
+   *
+   * @param hash  the position's hash
+   * @param move  index of the best move found, or -1 if none
+   * @param score score of the position, from -MAX_SCORE to MAX_SCORE
+   * @param depth how many moves deep the score was searched, at least 0
+   * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+   * @throws IllegalArgumentException if any value is out of range
+   */
+  public void store(long hash, int move, int score, int depth, int bound)
+          throws IllegalArgumentException {
+    long data = pack(move, score, depth, bound);
+    LongBuffer segment = this.segmentOf(hash);
+    int slot = this.offsetOf(hash);
+    long deepData = segment.get(slot + 1);
+    boolean deepSame = (segment.get(slot) ^ deepData) == hash;
+    if (!deepSame && deepData != 0 && depthOf(deepData) > depthOf(data)) {
+      // the deep entry holds a deeper search of another position, so keep it
+      slot += 2;
+    }
+    long oldData = segment.get(slot + 1);
+    if (oldData != 0 && (segment.get(slot) ^ oldData) != hash) {
+      this.collisions.increment();
+    }
+    segment.put(slot, hash ^ data);
+    segment.put(slot + 1, data);
+  }
+
+  // the segment holding the bucket of hash
+  private LongBuffer segmentOf(long hash) {
+    return this.segments[(int) ((hash & this.bucketMask) >>> SEGMENT_BITS)];
+  }
+
+  // the index of the first long of the bucket of hash within its segment
+  private int offsetOf(long hash) {
+    return (int) (hash & this.bucketMask & ((1L << SEGMENT_BITS) - 1)) * LONGS_PER_BUCKET;
+  }
+
+  /**
+   * Empties the table and resets its counters. Searches must not use the table meanwhile.
+   */
+  public void clear() {
+    for (LongBuffer segment : this.segments) {
+      for (int i = 0; i < segment.capacity(); i++) {
+        segment.put(i, 0);
+      }
+    }
+    this.hits.reset();
+    this.misses.reset();
+    this.collisions.reset();
+  }
+
+  /**
+   * Returns how many entries the table can hold.
+   *
+   * @return number of entries, two per bucket
+   */
+  public long capacity() {
+    return (this.bucketMask + 1) * 2;
+  }
+
+  /**
+   * Returns the memory the table was asked to use.
+   *
+   * @return memory in MiB
+   */
+  public int getMegabytes() {
+    return this.megabytes;
+  }
+
+  /**
+   * Returns how many probes found an entry for their position.
+   *
+   * @return number of hits since the table was made or cleared
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns how many probes found nothing for their position.
+   *
+   * @return number of misses since the table was made or cleared
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns how many stores overwrote an entry for another position. A high rate against the
+   * number of stores means the table is too small for the searches sharing it.
+   *
+   * @return number of collisions since the table was made or cleared
+   */
+  public long getCollisions() {
+    return this.collisions.sum();
+  }
+}
@@ -0,0 +1,84 @@
+package model;
+
+/**
+ * An immutable record of a single move or pass made through IReversiModel.makeMove or
+ * IReversiModel.makePass, holding just enough to revert it with IReversiModel.unmakeMove:
+ * the index of the placed tile, the indices of the tiles it flipped, the player who moved, and
+ * how many moves had been made before it.
+ */
+public final class UndoRecord {
+  private final int index;
+  private final int[] flipped;
+  private final PlayerTurn player;
+  private final int ply;
+
+  /**
+   * Constructor for an UndoRecord.
+   *
+   * @param index   index of the placed tile, or -1 for a pass
+   * @param flipped indices of the flipped tiles, owned by this record from now on
+   * @param player  the player who made the move
+   * @param ply     number of moves and passes made before this one
+   */
+  UndoRecord(int index, int[] flipped, PlayerTurn player, int ply) {
+    this.index = index;
+    this.flipped = flipped;
+    this.player = player;
+    this.ply = ply;
+  }
+
+  /**
+   * Returns the index of the placed tile.
+   *
+   * @return index of the placed tile, or -1 if this records a pass
+   */
+  public int getIndex() {
+    return this.index;
+  }
+
+  /**
+   * Returns whether this records a pass.
+   *
+   * @return true if the move was a pass
+   */
+  public boolean isPass() {
+    return this.index < 0;
+  }
+
+  /**
+   * Returns the number of tiles the move flipped.
+   *
+   * @return number of flipped tiles, 0 for a pass
+   */
+  public int getNumFlipped() {
+    return this.flipped.length;
+  }
+
+  /**
+   * Returns the index of the i-th tile the move flipped.
+   *
+   * @param i which flipped tile, from 0 to getNumFlipped() - 1
+   * @return index of that tile
+   */
+  public int getFlipped(int i) {
+    return this.flipped[i];
+  }
+
+  /**
+   * Returns the player who made the move.
+   *
+   * @return the player who moved
+   */
+  public PlayerTurn getPlayer() {
+    return this.player;
+  }
+
+  /**
+   * Returns the number of moves and passes made before this one.
+   *
+   * @return the ply of this move
+   */
+  public int getPly() {
+    return this.ply;
+  }
+}
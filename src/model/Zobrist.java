@@ -0,0 +1,67 @@
+package model;
+
+/**
+ * The Zobrist keys every model and PackedBoard hash positions with. A position's hash is the
+ * XOR of the key of every taken tile, plus the side key when black is to move, so a move only
+ * has to XOR in the keys of the tiles it changed. Keys are drawn from a SplitMix64 sequence
+ * seeded by the shape and radius of the board, so they cost no tables, work on boards of any
+ * size, and are the same for every model of the same board: a position hashes the same however
+ * it was reached and whichever model holds it.
+ */
+final class Zobrist {
+  /**
+   * XORed into the hash of every position where black is to move.
+   */
+  static final long BLACK_TO_MOVE = mix(0x5851F42D4C957F2DL);
+
+  private Zobrist() {
+  }
+
+  /**
+   * Returns the seed of the keys of every board of the given shape and radius.
+   *
+   * @param shape  shape of the board
+   * @param radius radius of the board
+   * @return the seed to hand to key
+   */
+  static long seed(BoardShape shape, int radius) {
+    return mix(((long) shape.ordinal() << 32) | radius);
+  }
+
+  /**
+   * Returns the key of a tile of the given FillType.
+   *
+   * @param seed  seed of the board, from seed
+   * @param index index of the tile
+   * @param ft    FillType of the tile, WHITE or BLACK
+   * @return the tile's key
+   */
+  static long key(long seed, int index, FillType ft) {
+    return mix(seed + 0x9E3779B97F4A7C15L * (2L * index + (ft == FillType.BLACK ? 2 : 1)));
+  }
+
+  /**
+   * Hashes a whole position from scratch.
+   *
+   * @param board the position
+   * @return its hash
+   */
+  static long hash(PackedBoard board) {
+    long seed = seed(board.getShape(), board.getRadius());
+    long hash = board.getPlayerTurn() == PlayerTurn.BLACK ? BLACK_TO_MOVE : 0;
+    for (int i = 0; i < board.getNumTiles(); i++) {
+      FillType ft = board.getFill(i);
+      if (ft != FillType.EMPTY) {
+        hash ^= key(seed, i, ft);
+      }
+    }
+    return hash;
+  }
+
+  // the SplitMix64 finalizer, which spreads every input bit over the whole output
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -31,6 +31,8 @@ public class HexReversiCanvas extends JPanel implements MouseListener, KeyListen
   private final int size;
   protected Point selected;
   private JLabel label;
+  // the model's version when the tiles were last made, so unchanged boards aren't rebuilt
+  private long drawnVersion;
 
   /**
    * Constructor for a ReversiCanvas that creates
@@ -57,6 +59,7 @@ public class HexReversiCanvas extends JPanel implements MouseListener, KeyListen
   }
 
   private void makeTiles() {
+    this.drawnVersion = model.getVersion();
     int size = this.size / (model.getRadius() * 4);
     for (int x = -model.getRadius() + 1; x < model.getRadius(); x++) {
       for (int y = -model.getRadius() + 1; y < model.getRadius(); y++) {
@@ -80,8 +83,10 @@ public class HexReversiCanvas extends JPanel implements MouseListener, KeyListen
   }
 
   protected void updateBoard() {
-    this.tiles = new ArrayList<>();
-    makeTiles();
+    if (model.getVersion() != this.drawnVersion) {
+      this.tiles = new ArrayList<>();
+      makeTiles();
+    }
     repaint();
   }
 
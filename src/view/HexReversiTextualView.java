@@ -5,20 +5,20 @@ import java.util.List;
 import java.util.ArrayList;
 
 import model.Tile;
-import model.HexReversiModel;
+import model.ReadOnlyReversiModel;
 
 /**
  * A class for rendering a text view of a ReversiModel object.
  */
 public class HexReversiTextualView implements IReversiTextualView {
-  HexReversiModel model;
+  ReadOnlyReversiModel model;
 
   /**
-   * Constructor that takes in a HexReversiModel to render.
+   * Constructor that takes in a hex-tiled model to render.
    *
    * @param model a ReversiModel object to be rendered.
    */
-  public HexReversiTextualView(HexReversiModel model) {
+  public HexReversiTextualView(ReadOnlyReversiModel model) {
     this.model = Objects.requireNonNull(model);
   }
 
@@ -28,6 +28,8 @@ public class SquareReversiCanvas extends JPanel implements MouseListener, KeyLis
   private final int size;
   private Point selected;
   private JLabel label;
+  // the model's version when the tiles were last made, so unchanged boards aren't rebuilt
+  private long drawnVersion;
 
   /**
    * Constructor for a ReversiCanvas that creates
@@ -54,6 +56,7 @@ public class SquareReversiCanvas extends JPanel implements MouseListener, KeyLis
   }
 
   private void makeTiles() {
+    this.drawnVersion = model.getVersion();
     int size = this.size / (model.getRadius() * 4);
     for (int x = 0; x < model.getRadius() * 2; x++) {
       for (int y = 0; y < model.getRadius() * 2; y++) {
@@ -76,8 +79,10 @@ public class SquareReversiCanvas extends JPanel implements MouseListener, KeyLis
   }
 
   protected void updateBoard() {
-    this.tiles = new ArrayList<>();
-    makeTiles();
+    if (model.getVersion() != this.drawnVersion) {
+      this.tiles = new ArrayList<>();
+      makeTiles();
+    }
     repaint();
   }
 
@@ -3,20 +3,20 @@ package view;
 import java.util.Objects;
 
 import model.Tile;
-import model.SquareReversiModel;
+import model.ReadOnlyReversiModel;
 
 /**
  * A class for rendering a text view of a ReversiModel object.
  */
 public class SquareReversiTextualView implements IReversiTextualView {
-  SquareReversiModel model;
+  ReadOnlyReversiModel model;
 
   /**
-   * Constructor that takes in a SquareReversiModel to render.
+   * Constructor that takes in a square-tiled model to render.
    *
    * @param model a ReversiModel object to be rendered.
    */
-  public SquareReversiTextualView(SquareReversiModel model) {
+  public SquareReversiTextualView(ReadOnlyReversiModel model) {
     this.model = Objects.requireNonNull(model);
   }
 
@@ -0,0 +1,44 @@
+package view;
+
+import java.util.Objects;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Represents a view that decorates another IReversiGUI so every call on it runs on the Swing
+ * thread, in the order the calls were made, without waiting for it. This lets a controller that
+ * is told about turns on another thread, and plays its AI there, still update its window safely.
+ */
+public class SwingThreadGUI implements IReversiGUI {
+  private final IReversiGUI delegate;
+
+  /**
+   * Constructor for a SwingThreadGUI that hands every call on to the given view.
+   *
+   * @param delegate the view to update on the Swing thread
+   */
+  public SwingThreadGUI(IReversiGUI delegate) {
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  @Override
+  public void addTileClickedListener(TileClickedListener e) {
+    Objects.requireNonNull(e);
+    SwingUtilities.invokeLater(() -> this.delegate.addTileClickedListener(e));
+  }
+
+  @Override
+  public void setLabel(String message) {
+    SwingUtilities.invokeLater(() -> this.delegate.setLabel(message));
+  }
+
+  @Override
+  public void updateBoard() {
+    SwingUtilities.invokeLater(this.delegate::updateBoard);
+  }
+
+  @Override
+  public void notifyPlayer(String message) {
+    SwingUtilities.invokeLater(() -> this.delegate.notifyPlayer(message));
+  }
+}
@@ -0,0 +1,198 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import controller.AlphaBetaAI;
+import controller.IReversiPlayer;
+import controller.SimpleAI;
+import model.BitboardHexReversiModel;
+import model.BitboardSquareReversiModel;
+import model.BoardShape;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PackedBoard;
+import model.PlayerTurn;
+import model.SparseHexReversiModel;
+import model.SquareReversiModel;
+import model.Tile;
+import model.TranspositionTable;
+import model.UndoRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing AlphaBetaAI's search and budgets.
+ */
+public class TestAlphaBetaAI {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoBudgetThrows() {
+    new AlphaBetaAI(new HexReversiModel(3), PlayerTurn.WHITE, 0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeBudgetThrows() {
+    new AlphaBetaAI(new HexReversiModel(3), PlayerTurn.WHITE, -1, 100);
+  }
+
+  @Test
+  public void testPlaysWholeGamesOnBothShapes() {
+    playOut(new BitboardHexReversiModel(4));
+    playOut(new SquareReversiModel(2));
+  }
+
+  // plays both sides with small node budgets to the end, checking every move was legal and
+  // reported to the listeners
+  private static void playOut(IReversiModel model) {
+    AlphaBetaAI white = new AlphaBetaAI(model, PlayerTurn.WHITE, 0, 2000);
+    AlphaBetaAI black = new AlphaBetaAI(model, PlayerTurn.BLACK, 0, 2000);
+    int[] moved = new int[1];
+    white.addPlayerListener(() -> moved[0]++);
+    black.addPlayerListener(() -> moved[0]++);
+    model.startGame();
+    while (!model.isGameOver()) {
+      AlphaBetaAI player = model.getPlayerTurn() == PlayerTurn.WHITE ? white : black;
+      int[] legal = model.getLegalMoves();
+      int move = player.chooseMove();
+      if (legal.length == 0) {
+        assertEquals(-1, move);
+      } else {
+        assertTrue(Arrays.stream(legal).anyMatch(m -> m == move));
+      }
+      player.playNextMove();
+    }
+    assertEquals(model.getMoveHistory().length, moved[0]);
+  }
+
+  @Test
+  public void testSearchesHugeSparseBoards() {
+    IReversiModel model = new SparseHexReversiModel(1000);
+    assertTrue(model.getNumTiles() > AlphaBetaAI.SYMMETRY_LIMIT);
+    assertEquals(BoardShape.HEX, model.getShape());
+    model.startGame();
+    int move = new AlphaBetaAI(model, PlayerTurn.WHITE, 0, 2000).chooseMove();
+    Tile tile = model.getTileAtIndex(move);
+    assertEquals(move, model.getIndexOf(tile.getQorX(), tile.getRorY(), tile.getS()));
+    assertTrue(model.isMoveValid(tile.getQorX(), tile.getRorY(), tile.getS()));
+  }
+
+  @Test
+  public void testDoesNotChangeTheModelWhileSearching() {
+    IReversiModel model = new HexReversiModel(4);
+    model.startGame();
+    PackedBoard before = model.toPackedBoard();
+    long hash = model.getPositionHash();
+    new AlphaBetaAI(model, PlayerTurn.WHITE, 0, 5000).chooseMove();
+    assertEquals(before, model.toPackedBoard());
+    assertEquals(hash, model.getPositionHash());
+    assertEquals(0, model.getMoveHistory().length);
+  }
+
+  @Test
+  public void testPlaysPerfectlyNearTheEnd() {
+    Random rand = new Random(5);
+    int checked = 0;
+    for (int game = 0; game < 4; game++) {
+      checked += checkPerfectEndgame(rand, new HexReversiModel(3), 7, null) ? 1 : 0;
+      checked += checkPerfectEndgame(rand, new SquareReversiModel(2), 8, null) ? 1 : 0;
+    }
+    assertTrue(checked >= 4);
+  }
+
+  @Test
+  public void testPlaysPerfectlyNearTheEndWithASharedTable() {
+    Random rand = new Random(6);
+    TranspositionTable table = new TranspositionTable(1);
+    int checked = 0;
+    for (int game = 0; game < 4; game++) {
+      checked += checkPerfectEndgame(rand, new HexReversiModel(3), 8, table) ? 1 : 0;
+      checked += checkPerfectEndgame(rand, new SquareReversiModel(2), 9, table) ? 1 : 0;
+    }
+    assertTrue(checked >= 4);
+    assertTrue(table.getHits() > 0);
+  }
+
+  // plays random moves until empties tiles are left, then checks the AI's move keeps the best
+  // final margin a full search of the rest of the game can find, if the game gets that far
+  private static boolean checkPerfectEndgame(Random rand, IReversiModel model, int empties,
+                                             TranspositionTable table) {
+    model.startGame();
+    while (!model.isGameOver() && emptyTiles(model) > empties) {
+      int[] moves = model.getLegalMoves();
+      if (moves.length == 0) {
+        model.pass();
+      } else {
+        Tile tile = model.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        model.placeTile(tile.getQorX(), tile.getRorY(), tile.getS());
+      }
+    }
+    if (model.isGameOver() || model.getLegalMoves().length == 0) {
+      return false;
+    }
+    int best = bestMargin(model);
+    PlayerTurn mover = model.getPlayerTurn();
+    int move = new AlphaBetaAI(model, mover, 0, 10_000_000, table).chooseMove();
+    Tile tile = model.getTileAtIndex(move);
+    model.makeMove(tile.getQorX(), tile.getRorY(), tile.getS());
+    assertEquals(best, -bestMargin(model));
+    return true;
+  }
+
+  private static int emptyTiles(IReversiModel model) {
+    return model.getNumTiles() - model.getScore(PlayerTurn.WHITE)
+            - model.getScore(PlayerTurn.BLACK);
+  }
+
+  // the final margin of the player to move under perfect play, by plain minimax
+  private static int bestMargin(IReversiModel model) {
+    if (model.isGameOver()) {
+      PlayerTurn toMove = model.getPlayerTurn();
+      return model.getScore(toMove) - model.getScore(toMove.flip());
+    }
+    int[] moves = model.getLegalMoves();
+    if (moves.length == 0) {
+      UndoRecord pass = model.makePass();
+      int margin = -bestMargin(model);
+      model.unmakeMove(pass);
+      return margin;
+    }
+    int best = Integer.MIN_VALUE;
+    for (int move : moves) {
+      Tile tile = model.getTileAtIndex(move);
+      UndoRecord record = model.makeMove(tile.getQorX(), tile.getRorY(), tile.getS());
+      best = Math.max(best, -bestMargin(model));
+      model.unmakeMove(record);
+    }
+    return best;
+  }
+
+  @Test
+  public void testBeatsSimpleAI() {
+    for (PlayerTurn side : new PlayerTurn[]{PlayerTurn.WHITE, PlayerTurn.BLACK}) {
+      IReversiModel model = new BitboardSquareReversiModel();
+      IReversiPlayer searcher = new AlphaBetaAI(model, side, 0, 20_000);
+      IReversiPlayer greedy = new SimpleAI(model, side.flip());
+      model.startGame();
+      while (!model.isGameOver()) {
+        (model.getPlayerTurn() == side ? searcher : greedy).playNextMove();
+      }
+      assertTrue(model.getScore(side) > model.getScore(side.flip()));
+    }
+  }
+
+  @Test
+  public void testStopsWithinItsTimeBudget() {
+    IReversiModel model = new HexReversiModel(8);
+    model.startGame();
+    long start = System.nanoTime();
+    int move = new AlphaBetaAI(model, PlayerTurn.WHITE, 200, 0).chooseMove();
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    Tile tile = model.getTileAtIndex(move);
+    assertTrue(model.isMoveValid(tile.getQorX(), tile.getRorY(), tile.getS()));
+    assertTrue(millis < 2000);
+    assertFalse(model.isGameOver());
+  }
+}
@@ -0,0 +1,91 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import model.AsyncModelListener;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PlayerTurn;
+import model.Tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing asynchronous, coalescing delivery of turns to model listeners.
+ */
+public class TestAsyncModelListener {
+
+  @Test
+  public void testTurnsAreDeliveredLaterAndInOrder() {
+    List<Runnable> queued = new ArrayList<>();
+    List<PlayerTurn> seen = new ArrayList<>();
+    AsyncModelListener listener = new AsyncModelListener(seen::add, queued::add);
+    listener.turnFor(PlayerTurn.WHITE);
+    assertTrue(seen.isEmpty());
+    assertEquals(1, queued.size());
+    queued.remove(0).run();
+    assertEquals(List.of(PlayerTurn.WHITE), seen);
+    listener.turnFor(PlayerTurn.BLACK);
+    queued.remove(0).run();
+    assertEquals(List.of(PlayerTurn.WHITE, PlayerTurn.BLACK), seen);
+  }
+
+  @Test
+  public void testSupersededTurnsAreCollapsed() {
+    List<Runnable> queued = new ArrayList<>();
+    List<PlayerTurn> seen = new ArrayList<>();
+    AsyncModelListener listener = new AsyncModelListener(seen::add, queued::add);
+    listener.turnFor(PlayerTurn.WHITE);
+    listener.turnFor(PlayerTurn.BLACK);
+    listener.turnFor(PlayerTurn.OVER);
+    assertEquals(1, queued.size());
+    queued.remove(0).run();
+    assertEquals(List.of(PlayerTurn.OVER), seen);
+    assertTrue(queued.isEmpty());
+  }
+
+  @Test
+  public void testSlowListenerDoesNotHoldUpTheGame() throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch over = new CountDownLatch(1);
+    List<PlayerTurn> seen = new ArrayList<>();
+    IReversiModel model = new HexReversiModel(3);
+    model.addModelListener(new AsyncModelListener(pt -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      synchronized (seen) {
+        seen.add(pt);
+      }
+      if (pt == PlayerTurn.OVER) {
+        over.countDown();
+      }
+    }, executor));
+    model.startGame();
+    while (!model.isGameOver()) {
+      int[] moves = model.getLegalMoves();
+      if (moves.length == 0) {
+        model.pass();
+      } else {
+        Tile move = model.getTileAtIndex(moves[0]);
+        model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+    release.countDown();
+    assertTrue(over.await(5, TimeUnit.SECONDS));
+    executor.shutdown();
+    synchronized (seen) {
+      assertEquals(PlayerTurn.OVER, seen.get(seen.size() - 1));
+      assertTrue(seen.size() <= 2);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import model.BitboardHexReversiModel;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PlayerTurn;
+import model.Tile;
+import model.UndoRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the hexagonal model suite on the bitboard hex model, and checks it against
+ * HexReversiModel over random games.
+ */
+public class TestBitboardHexReversiModel extends TestHexReversiModel {
+
+  @Override
+  protected IReversiModel makeModel(int radius) {
+    return new BitboardHexReversiModel(radius);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testRadiusTooLargeThrows() {
+    new BitboardHexReversiModel(BitboardHexReversiModel.MAX_RADIUS + 1);
+  }
+
+  @Test
+  public void testRandomGamesMatchHexModel() {
+    Random rand = new Random(3500);
+    for (int radius = 2; radius <= BitboardHexReversiModel.MAX_RADIUS; radius++) {
+      for (int game = 0; game < 10; game++) {
+        IReversiModel bits = new BitboardHexReversiModel(radius);
+        IReversiModel tiles = new HexReversiModel(radius);
+        bits.startGame();
+        tiles.startGame();
+        while (!tiles.isGameOver()) {
+          assertFalse(bits.isGameOver());
+          int moves = 0;
+          Tile chosen = null;
+          for (int i = 0; i < tiles.getNumTiles(); i++) {
+            Tile tile = tiles.getTileAtIndex(i);
+            int q = tile.getQorX();
+            int r = tile.getRorY();
+            assertEquals(tile.getFT(), bits.getTileAt(q, r, -q - r).getFT());
+            assertEquals(tiles.countFlipsForMove(q, r, -q - r),
+                    bits.countFlipsForMove(q, r, -q - r));
+            if (tiles.isMoveValid(q, r, -q - r) && rand.nextInt(++moves) == 0) {
+              chosen = tile;
+            }
+          }
+          if (chosen == null) {
+            tiles.pass();
+            bits.pass();
+          } else {
+            tiles.placeTile(chosen.getQorX(), chosen.getRorY(), chosen.getS());
+            bits.placeTile(chosen.getQorX(), chosen.getRorY(), chosen.getS());
+          }
+          assertEquals(tiles.getScore(PlayerTurn.WHITE), bits.getScore(PlayerTurn.WHITE));
+          assertEquals(tiles.getScore(PlayerTurn.BLACK), bits.getScore(PlayerTurn.BLACK));
+        }
+        assertTrue(bits.isGameOver());
+      }
+    }
+  }
+
+  @Test
+  public void testMoveGenerationAgreesAfterUnmaking() {
+    Random rand = new Random(11);
+    IReversiModel bits = new BitboardHexReversiModel(5);
+    IReversiModel tiles = new HexReversiModel(5);
+    bits.startGame();
+    tiles.startGame();
+    Deque<UndoRecord> bitRecords = new ArrayDeque<>();
+    Deque<UndoRecord> tileRecords = new ArrayDeque<>();
+    for (int step = 0; step < 400 && !tiles.isGameOver(); step++) {
+      assertFalse(bits.isGameOver());
+      if (!tileRecords.isEmpty() && rand.nextInt(3) == 0) {
+        tiles.unmakeMove(tileRecords.pop());
+        bits.unmakeMove(bitRecords.pop());
+        continue;
+      }
+      List<Tile> moves = new ArrayList<>();
+      for (int i = 0; i < tiles.getNumTiles(); i++) {
+        Tile tile = tiles.getTileAtIndex(i);
+        boolean valid = tiles.isMoveValid(tile.getQorX(), tile.getRorY(), tile.getS());
+        assertEquals(valid, bits.isMoveValid(tile.getQorX(), tile.getRorY(), tile.getS()));
+        if (valid) {
+          moves.add(tile);
+        }
+      }
+      if (moves.isEmpty()) {
+        tileRecords.push(tiles.makePass());
+        bitRecords.push(bits.makePass());
+      } else {
+        Tile move = moves.get(rand.nextInt(moves.size()));
+        tileRecords.push(tiles.makeMove(move.getQorX(), move.getRorY(), move.getS()));
+        bitRecords.push(bits.makeMove(move.getQorX(), move.getRorY(), move.getS()));
+      }
+    }
+    assertEquals(tiles.isGameOver(), bits.isGameOver());
+  }
+}
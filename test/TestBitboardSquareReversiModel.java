@@ -0,0 +1,173 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import controller.SimpleAI;
+import model.BitboardSquareReversiModel;
+import model.IReversiModel;
+import model.PlayerTurn;
+import model.SquareReversiModel;
+import model.UndoRecord;
+import view.SquareReversiTextualView;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testing class to test the bitboard 8x8 Reversi Model against the square-tile model.
+ */
+public class TestBitboardSquareReversiModel {
+  BitboardSquareReversiModel model;
+  SquareReversiTextualView view;
+
+  @Before
+  public void init() {
+    model = new BitboardSquareReversiModel();
+    view = new SquareReversiTextualView(model);
+  }
+
+  @Test
+  public void testTextualViewRender() {
+    model.startGame();
+    String expectedRender = "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ X O _ _ _ \n" +
+            "_ _ _ O X _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n";
+    assertEquals(expectedRender, view.textRender());
+    model.placeTile(4, 2, 0);
+    expectedRender = "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ X _ _ _ \n" +
+            "_ _ _ X X _ _ _ \n" +
+            "_ _ _ O X _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n" +
+            "_ _ _ _ _ _ _ _ \n";
+    assertEquals(expectedRender, view.textRender());
+  }
+
+  @Test
+  public void testRadiusAndSize() {
+    assertEquals(4, model.getRadius());
+    assertEquals(64, model.getNumTiles());
+    assertFalse(model.doCoordsExist(8, 0, 0));
+    assertTrue(model.doCoordsExist(7, 7, 0));
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testNoFlipsFromPlacementThrows() {
+    model.startGame();
+    model.placeTile(0, 0, 0);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testGetTileOffTheBoardThrows() {
+    model.startGame();
+    model.getTileAt(8, 0, 0);
+  }
+
+  @Test
+  public void testGetCopyDoesNotMutateOriginal() {
+    model.startGame();
+    IReversiModel reversiCopy = model.getCopy();
+    reversiCopy.placeTile(4, 2, 0);
+    assertEquals(4, reversiCopy.getScore(PlayerTurn.WHITE));
+    assertEquals(2, model.getScore(PlayerTurn.WHITE));
+  }
+
+  @Test
+  public void testRandomGamesMatchSquareModel() {
+    Random rand = new Random(3500);
+    for (int game = 0; game < 50; game++) {
+      IReversiModel bits = new BitboardSquareReversiModel();
+      IReversiModel tiles = new SquareReversiModel(4);
+      bits.startGame();
+      tiles.startGame();
+      while (!tiles.isGameOver()) {
+        assertFalse(bits.isGameOver());
+        assertArrayEquals(tiles.getLegalMoves(), bits.getLegalMoves());
+        int moves = 0;
+        int chosen = -1;
+        for (int x = 0; x < 8; x++) {
+          for (int y = 0; y < 8; y++) {
+            assertEquals(tiles.isMoveValid(x, y, 0), bits.isMoveValid(x, y, 0));
+            assertEquals(tiles.countFlipsForMove(x, y, 0), bits.countFlipsForMove(x, y, 0));
+            assertEquals(tiles.getTileAt(x, y, 0).getFT(), bits.getTileAt(x, y, 0).getFT());
+            if (tiles.isMoveValid(x, y, 0) && rand.nextInt(++moves) == 0) {
+              chosen = x * 8 + y;
+            }
+          }
+        }
+        if (chosen == -1) {
+          tiles.pass();
+          bits.pass();
+        } else {
+          tiles.placeTile(chosen / 8, chosen % 8, 0);
+          bits.placeTile(chosen / 8, chosen % 8, 0);
+        }
+        assertEquals(tiles.getScore(PlayerTurn.WHITE), bits.getScore(PlayerTurn.WHITE));
+        assertEquals(tiles.getScore(PlayerTurn.BLACK), bits.getScore(PlayerTurn.BLACK));
+      }
+      assertTrue(bits.isGameOver());
+    }
+  }
+
+  @Test
+  public void testSimpleAIPlaysSameGameAsSquareModel() {
+    IReversiModel tiles = new SquareReversiModel(4);
+    model.startGame();
+    tiles.startGame();
+    while (!tiles.isGameOver()) {
+      new SimpleAI(tiles, tiles.getPlayerTurn()).playNextMove();
+      new SimpleAI(model, model.getPlayerTurn()).playNextMove();
+      assertEquals(tiles.getScore(PlayerTurn.WHITE), model.getScore(PlayerTurn.WHITE));
+      assertEquals(tiles.getScore(PlayerTurn.BLACK), model.getScore(PlayerTurn.BLACK));
+    }
+    assertTrue(model.isGameOver());
+  }
+
+  @Test
+  public void testUnmakingRandomGameRestoresStart() {
+    Random rand = new Random(42);
+    model.startGame();
+    IReversiModel tiles = new SquareReversiModel(4);
+    tiles.startGame();
+    String start = view.textRender();
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    while (!tiles.isGameOver()) {
+      List<Integer> moves = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        if (tiles.isMoveValid(i / 8, i % 8, 0)) {
+          moves.add(i);
+        }
+      }
+      if (moves.isEmpty()) {
+        tiles.pass();
+        records.push(model.makePass());
+      } else {
+        int move = moves.get(rand.nextInt(moves.size()));
+        tiles.placeTile(move / 8, move % 8, 0);
+        records.push(model.makeMove(move / 8, move % 8, 0));
+      }
+      assertEquals(tiles.getPlayerTurn(), model.getPlayerTurn());
+      assertEquals(tiles.getScore(PlayerTurn.WHITE), model.getScore(PlayerTurn.WHITE));
+      assertEquals(tiles.getScore(PlayerTurn.BLACK), model.getScore(PlayerTurn.BLACK));
+    }
+    while (!records.isEmpty()) {
+      model.unmakeMove(records.pop());
+    }
+    assertEquals(start, view.textRender());
+    assertEquals(PlayerTurn.WHITE, model.getPlayerTurn());
+  }
+}
@@ -0,0 +1,134 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import model.BoardShape;
+import model.BoardSymmetry;
+import model.CanonicalPosition;
+import model.FillType;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PackedBoard;
+import model.SquareReversiModel;
+import model.Tile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing board symmetries and canonical positions.
+ */
+public class TestBoardSymmetry {
+
+  @Test
+  public void testTransformsArePermutations() {
+    for (BoardSymmetry symmetry : new BoardSymmetry[]{BoardSymmetry.of(BoardShape.HEX, 4),
+        BoardSymmetry.of(BoardShape.SQUARE, 4)}) {
+      int size = symmetry.numTransforms() == 12 ? 37 : 64;
+      for (int t = 0; t < symmetry.numTransforms(); t++) {
+        boolean[] hit = new boolean[size];
+        for (int index = 0; index < size; index++) {
+          int image = symmetry.apply(t, index);
+          hit[image] = true;
+          assertEquals(index, symmetry.unapply(t, image));
+          if (t == 0) {
+            assertEquals(index, image);
+          }
+        }
+        for (boolean tile : hit) {
+          assertTrue(tile);
+        }
+      }
+    }
+    assertEquals(12, BoardSymmetry.of(BoardShape.HEX, 4).numTransforms());
+    assertEquals(8, BoardSymmetry.of(BoardShape.SQUARE, 4).numTransforms());
+    assertSame(BoardSymmetry.of(BoardShape.HEX, 4), BoardSymmetry.of(BoardShape.HEX, 4));
+  }
+
+  @Test
+  public void testSymmetricVariantsShareCanonicalPosition() {
+    checkVariants(new HexReversiModel(4), BoardShape.HEX);
+    checkVariants(new SquareReversiModel(4), BoardShape.SQUARE);
+  }
+
+  // plays a random game, checking every symmetric variant of every position canonicalizes to the
+  // same board, and that its legal moves map onto the canonical position's
+  private static void checkVariants(IReversiModel model, BoardShape shape) {
+    BoardSymmetry symmetry = BoardSymmetry.of(shape, model.getRadius());
+    Random rand = new Random(20);
+    model.startGame();
+    while (!model.isGameOver()) {
+      PackedBoard board = model.toPackedBoard();
+      CanonicalPosition canonical = symmetry.canonicalize(board);
+      for (int t = 0; t < symmetry.numTransforms(); t++) {
+        PackedBoard variant = transformed(board, symmetry, t);
+        assertEquals(canonical.getBoard(), symmetry.canonicalize(variant).getBoard());
+      }
+      IReversiModel canonicalModel = shape == BoardShape.HEX
+              ? new HexReversiModel(canonical.getBoard())
+              : new SquareReversiModel(canonical.getBoard());
+      int[] moves = model.getLegalMoves();
+      int[] mapped = new int[moves.length];
+      for (int i = 0; i < moves.length; i++) {
+        mapped[i] = canonical.toCanonical(moves[i]);
+        assertEquals(moves[i], canonical.fromCanonical(mapped[i]));
+      }
+      Arrays.sort(mapped);
+      assertArrayEquals(canonicalModel.getLegalMoves(), mapped);
+      if (moves.length == 0) {
+        model.pass();
+      } else {
+        Tile move = model.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+  }
+
+  // builds the image of board under transform t by writing its tiles into a copy of its bytes
+  private static PackedBoard transformed(PackedBoard board, BoardSymmetry symmetry, int t) {
+    byte[] bytes = board.toBytes();
+    byte[] image = new byte[bytes.length];
+    // the header is whatever comes before the tiles, four to a byte
+    int header = bytes.length - (board.getNumTiles() + 3) / 4;
+    System.arraycopy(bytes, 0, image, 0, header);
+    for (int index = 0; index < board.getNumTiles(); index++) {
+      int target = symmetry.apply(t, index);
+      image[header + target / 4] |= (byte) (board.getFill(index).ordinal() << (target % 4 * 2));
+    }
+    return PackedBoard.fromBytes(image);
+  }
+
+  @Test
+  public void testUniqueMovesAtStart() {
+    IReversiModel square = new SquareReversiModel(4);
+    square.startGame();
+    BoardSymmetry squares = BoardSymmetry.of(BoardShape.SQUARE, 4);
+    assertEquals(4, square.getLegalMoves().length);
+    assertEquals(1, squares.uniqueMoves(square.toPackedBoard(), square.getLegalMoves()).length);
+
+    IReversiModel hex = new HexReversiModel(4);
+    hex.startGame();
+    BoardSymmetry hexes = BoardSymmetry.of(BoardShape.HEX, 4);
+    int[] unique = hexes.uniqueMoves(hex.toPackedBoard(), hex.getLegalMoves());
+    assertTrue(unique.length < hex.getLegalMoves().length);
+    FillType[] fills = new FillType[hex.getNumTiles()];
+    hex.readFills(fills);
+    assertArrayEquals(unique, hexes.uniqueMoves(fills, hex.getLegalMoves()));
+    // every legal move is a mirror image of a kept one
+    for (int move : hex.getLegalMoves()) {
+      boolean covered = false;
+      for (int t = 0; t < hexes.numTransforms(); t++) {
+        covered |= Arrays.binarySearch(unique, hexes.apply(t, move)) >= 0;
+      }
+      assertTrue(covered);
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testWrongBoardThrows() {
+    BoardSymmetry.of(BoardShape.HEX, 4).canonicalize(new HexReversiModel(5).toPackedBoard());
+  }
+}
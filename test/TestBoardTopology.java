@@ -0,0 +1,135 @@
+import org.junit.Test;
+
+import java.util.Random;
+
+import model.BoardShape;
+import model.BoardTopology;
+import model.FillType;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PackedBoard;
+import model.Tile;
+import model.TopologyReversiModel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing the shared board topologies.
+ */
+public class TestBoardTopology {
+
+  @Test
+  public void testGeometryIsSharedPerShapeAndRadius() {
+    assertSame(BoardTopology.hex(4), BoardTopology.hex(4));
+    assertSame(BoardTopology.square(4), BoardTopology.square(4));
+    assertFalse(BoardTopology.hex(4) == BoardTopology.square(4));
+  }
+
+  @Test
+  public void testHexSizeAndCoordinates() {
+    BoardTopology topology = BoardTopology.hex(3);
+    assertEquals(19, topology.size());
+    assertEquals(6, topology.numDirections());
+    for (int i = 0; i < topology.size(); i++) {
+      assertTrue(topology.contains(topology.q(i), topology.r(i), topology.s(i)));
+      assertEquals(i, topology.indexOf(topology.q(i), topology.r(i), topology.s(i)));
+    }
+    assertFalse(topology.contains(3, 0, -3));
+  }
+
+  @Test
+  public void testSquareSizeAndCoordinates() {
+    BoardTopology topology = BoardTopology.square(2);
+    assertEquals(16, topology.size());
+    assertEquals(8, topology.numDirections());
+    for (int i = 0; i < topology.size(); i++) {
+      assertTrue(topology.contains(topology.q(i), topology.r(i), 0));
+      assertEquals(i, topology.indexOf(topology.q(i), topology.r(i), 0));
+      assertEquals(0, topology.s(i));
+    }
+    assertFalse(topology.contains(4, 0, 0));
+  }
+
+  @Test
+  public void testStartingBoards() {
+    BoardTopology hex = BoardTopology.hex(3);
+    FillType[] start = hex.startingBoard();
+    assertEquals(FillType.WHITE, start[hex.indexOf(0, 1, -1)]);
+    assertEquals(FillType.BLACK, start[hex.indexOf(0, -1, 1)]);
+    assertEquals(FillType.EMPTY, start[hex.indexOf(0, 0, 0)]);
+    start[0] = FillType.BLACK;
+    assertEquals(FillType.EMPTY, hex.startingBoard()[0]);
+
+    BoardTopology square = BoardTopology.square(2);
+    Tile tile = square.tile(square.indexOf(1, 2, 0), FillType.BLACK);
+    assertEquals(0, tile.getS());
+    assertTrue(tile.hasCoords(1, 2, 0));
+    assertEquals(FillType.BLACK, tile.getFT());
+    assertEquals(BoardShape.SQUARE, square.getShape());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testOddSquareRadiusThrows() {
+    BoardTopology.square(3);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testSmallHexRadiusThrows() {
+    BoardTopology.hex(1);
+  }
+
+  @Test
+  public void testEngineOnTopologyPlaysLikeHexModel() {
+    IReversiModel engine = new TopologyReversiModel(BoardTopology.hex(4));
+    IReversiModel hex = new HexReversiModel(4);
+    engine.startGame();
+    hex.startGame();
+    while (!hex.isGameOver()) {
+      assertArrayEquals(hex.getLegalMoves(), engine.getLegalMoves());
+      int[] moves = hex.getLegalMoves();
+      if (moves.length == 0) {
+        hex.pass();
+        engine.pass();
+      } else {
+        Tile move = hex.getTileAtIndex(moves[moves.length / 2]);
+        hex.placeTile(move.getQorX(), move.getRorY(), move.getS());
+        engine.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+      assertEquals(hex.toPackedBoard(), engine.toPackedBoard());
+    }
+    assertTrue(engine.isGameOver());
+    assertTrue(hex.getCopy() instanceof HexReversiModel);
+  }
+
+  @Test
+  public void testCopiesShareTilesUntilEitherSideMoves() {
+    IReversiModel original = new HexReversiModel(8);
+    original.startGame();
+    Random rand = new Random(18);
+    for (int turn = 0; turn < 40 && !original.isGameOver(); turn++) {
+      IReversiModel copy = original.getCopy();
+      PackedBoard before = original.toPackedBoard();
+      playRandomMove(copy, rand);
+      assertEquals(before, original.toPackedBoard());
+      PackedBoard copied = copy.toPackedBoard();
+      playRandomMove(original, rand);
+      assertEquals(copied, copy.toPackedBoard());
+      assertArrayEquals(new HexReversiModel(copy.toPackedBoard()).getLegalMoves(),
+              copy.getLegalMoves());
+    }
+  }
+
+  private static void playRandomMove(IReversiModel model, Random rand) {
+    int[] moves = model.getLegalMoves();
+    if (moves.length == 0) {
+      model.pass();
+    } else {
+      Tile move = model.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+      model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+    }
+  }
+}
@@ -0,0 +1,195 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import model.ConcurrentReversiModel;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PackedBoard;
+import model.PlayerTurn;
+import model.PositionSummary;
+import model.ReadOnlyReversiModel;
+import model.SquareReversiModel;
+import model.Tile;
+import model.UndoRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing the model that can be read from many threads.
+ */
+public class TestConcurrentReversiModel {
+
+  @Test
+  public void testPlaysAndAnnouncesLikeWrappedModel() {
+    IReversiModel plain = new SquareReversiModel(4);
+    IReversiModel concurrent = new ConcurrentReversiModel(new SquareReversiModel(4));
+    List<PlayerTurn> plainTurns = new ArrayList<>();
+    List<PlayerTurn> concurrentTurns = new ArrayList<>();
+    plain.addModelListener(plainTurns::add);
+    concurrent.addModelListener(concurrentTurns::add);
+    plain.startGame();
+    concurrent.startGame();
+    Random rand = new Random(21);
+    while (!plain.isGameOver()) {
+      assertEquals(plain.toPackedBoard(), concurrent.toPackedBoard());
+      assertEquals(plain.getPositionHash(), concurrent.getPositionHash());
+      int[] moves = plain.getLegalMoves();
+      if (moves.length == 0) {
+        plain.pass();
+        concurrent.pass();
+      } else {
+        Tile move = plain.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        plain.placeTile(move.getQorX(), move.getRorY(), move.getS());
+        concurrent.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+    assertTrue(concurrent.isGameOver());
+    assertEquals(plainTurns, concurrentTurns);
+  }
+
+  @Test
+  public void testSnapshotStaysOnOnePosition() {
+    ConcurrentReversiModel model = new ConcurrentReversiModel(new HexReversiModel(4));
+    model.startGame();
+    ReadOnlyReversiModel before = model.snapshot();
+    PackedBoard board = before.toPackedBoard();
+    Tile move = model.getTileAtIndex(model.getLegalMoves()[0]);
+    model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+    assertEquals(board, before.toPackedBoard());
+    assertTrue(model.getVersion() != before.getVersion());
+    assertEquals(PlayerTurn.BLACK, model.getPlayerTurn());
+  }
+
+  @Test
+  public void testListenerCanMoveFromInsideTurnFor() {
+    ConcurrentReversiModel model = new ConcurrentReversiModel(new HexReversiModel(4));
+    model.addModelListener(pt -> {
+      if (pt == PlayerTurn.BLACK) {
+        int[] moves = model.getLegalMoves();
+        if (moves.length == 0) {
+          model.pass();
+        } else {
+          Tile move = model.getTileAtIndex(moves[0]);
+          model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+        }
+      }
+    });
+    model.startGame();
+    Tile move = model.getTileAtIndex(model.getLegalMoves()[0]);
+    model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+    assertTrue(model.isGameOver() || model.getPlayerTurn() == PlayerTurn.WHITE);
+  }
+
+  @Test
+  public void testReadersNeverSeeTornPositions() throws InterruptedException {
+    ConcurrentReversiModel model = new ConcurrentReversiModel(new HexReversiModel(6));
+    model.startGame();
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread reader = new Thread(() -> {
+        try {
+          while (!done.get()) {
+            ReadOnlyReversiModel view = model.snapshot();
+            PositionSummary summary = view.getPositionSummary();
+            assertEquals(view.getNumTiles(), summary.getScore(PlayerTurn.WHITE)
+                    + summary.getScore(PlayerTurn.BLACK) + summary.getEmptyTiles());
+            PackedBoard board = view.toPackedBoard();
+            assertEquals(board.positionHash(), view.getPositionHash());
+            view.getLegalMoves();
+            view.isGameOver();
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+    Random rand = new Random(21);
+    while (!model.isGameOver()) {
+      int[] moves = model.getLegalMoves();
+      if (moves.length == 0) {
+        model.pass();
+      } else {
+        Tile move = model.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+  }
+
+  @Test
+  public void testReadersCanCopyAndPlayOnTheirCopies() throws InterruptedException {
+    ConcurrentReversiModel model = new ConcurrentReversiModel(new HexReversiModel(6));
+    assertFalse(model.isStarted());
+    assertFalse(model.getCopy().isStarted());
+    model.startGame();
+    assertTrue(model.getCopy().isStarted());
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      long seed = i;
+      Thread reader = new Thread(() -> {
+        Random rand = new Random(seed);
+        try {
+          while (!done.get()) {
+            IReversiModel copy = model.getCopy();
+            PackedBoard board = copy.toPackedBoard();
+            List<UndoRecord> records = new ArrayList<>();
+            for (int ply = 0; ply < 6 && !copy.isGameOver(); ply++) {
+              int[] moves = copy.getLegalMoves();
+              if (moves.length == 0) {
+                records.add(copy.makePass());
+              } else {
+                Tile move = copy.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+                records.add(copy.makeMove(move.getQorX(), move.getRorY(), move.getS()));
+              }
+              assertEquals(copy.toPackedBoard().positionHash(), copy.getPositionHash());
+            }
+            for (int j = records.size() - 1; j >= 0; j--) {
+              copy.unmakeMove(records.get(j));
+            }
+            assertEquals(board, copy.toPackedBoard());
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+    Random rand = new Random(22);
+    while (!model.isGameOver()) {
+      int[] moves = model.getLegalMoves();
+      if (moves.length == 0) {
+        model.pass();
+      } else {
+        Tile move = model.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+    // the readers' moves never reached the game itself
+    assertEquals(new HexReversiModel(6, model.getMoveHistory()).toPackedBoard(),
+            model.toPackedBoard());
+  }
+}
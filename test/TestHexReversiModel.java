@@ -4,13 +4,19 @@ import org.junit.Before;
 import model.FillType;
 import model.IReversiModel;
 import model.PlayerTurn;
+import model.PositionSummary;
+import model.ReadOnlyReversiImpl;
+import model.ReadOnlyReversiModel;
 import model.HexReversiModel;
 import model.Tile;
+import model.UndoRecord;
 import model.HexTile;
 import view.HexReversiTextualView;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -18,17 +24,28 @@ import static org.junit.Assert.assertTrue;
  * commands and edge cases.
  */
 public class TestHexReversiModel {
-  HexReversiModel model5;
-  HexReversiModel model3;
-  HexReversiModel model4;
+  IReversiModel model5;
+  IReversiModel model3;
+  IReversiModel model4;
   HexReversiTextualView view;
   HexTile tile;
 
+  /**
+   * Creates the hexagonal model under test, so subclasses can run this suite on other
+   * implementations.
+   *
+   * @param radius the radius of the board
+   * @return a new, unstarted model
+   */
+  protected IReversiModel makeModel(int radius) {
+    return new HexReversiModel(radius);
+  }
+
   @Before
   public void init() {
-    model5 = new HexReversiModel(5);
-    model3 = new HexReversiModel(3);
-    model4 = new HexReversiModel(4);
+    model5 = makeModel(5);
+    model3 = makeModel(3);
+    model4 = makeModel(4);
     view = new HexReversiTextualView(model5);
     tile = new HexTile(0, 0, 0);
   }
@@ -149,7 +166,7 @@ public class TestHexReversiModel {
 
   @Test (expected = IllegalArgumentException.class)
   public void testReversiModelStartGameWithTooSmallRadiusThrowsError() {
-    HexReversiModel model = new HexReversiModel(1);
+    IReversiModel model = makeModel(1);
   }
 
   @Test (expected = IllegalStateException.class)
@@ -226,4 +243,247 @@ public class TestHexReversiModel {
     assertEquals(2, reversiCopy.getScore(PlayerTurn.BLACK));
     assertEquals(3, model4.getScore(PlayerTurn.BLACK));
   }
+
+  @Test
+  public void testGetTileAtIndexMatchesCoordinates() {
+    model4.startGame();
+    assertEquals(37, model4.getNumTiles());
+    for (int i = 0; i < model4.getNumTiles(); i++) {
+      Tile indexed = model4.getTileAtIndex(i);
+      Tile located = model4.getTileAt(indexed.getQorX(), indexed.getRorY(), indexed.getS());
+      assertTrue(indexed.hasCoords(located.getQorX(), located.getRorY(), located.getS()));
+      assertEquals(located.getFT(), indexed.getFT());
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testGetTileAtIndexOffTheBoardThrows() {
+    model4.startGame();
+    model4.getTileAtIndex(37);
+  }
+
+  @Test
+  public void testCountFlipsForMoveDoesNotMutateBoard() {
+    model4.startGame();
+    assertEquals(2, model4.countFlipsForMove(-1, 2, -1));
+    assertEquals(0, model4.countFlipsForMove(0, 0, 0));
+    assertEquals(0, model4.countFlipsForMove(1, 0, -1));
+    assertEquals(3, model4.getScore(PlayerTurn.BLACK));
+    assertEquals(3, model4.getScore(PlayerTurn.WHITE));
+    assertEquals(FillType.EMPTY, model4.getTileAt(-1, 2, -1).getFT());
+    assertTrue(model4.isMoveValid(-1, 2, -1));
+    assertEquals(PlayerTurn.WHITE, model4.getPlayerTurn());
+  }
+
+  @Test
+  public void testMakeAndUnmakeMoveRestoresBoard() {
+    model4.startGame();
+    String before = new HexReversiTextualView(model4).textRender();
+    UndoRecord first = model4.makeMove(-1, 2, -1);
+    assertEquals(1, first.getNumFlipped());
+    assertEquals(PlayerTurn.WHITE, first.getPlayer());
+    assertEquals(PlayerTurn.BLACK, model4.getPlayerTurn());
+    assertEquals(5, model4.getScore(PlayerTurn.WHITE));
+    UndoRecord pass = model4.makePass();
+    assertTrue(pass.isPass());
+    UndoRecord third = model4.makeMove(1, 1, -2);
+    model4.unmakeMove(third);
+    model4.unmakeMove(pass);
+    assertEquals(PlayerTurn.BLACK, model4.getPlayerTurn());
+    model4.unmakeMove(first);
+    assertEquals(before, new HexReversiTextualView(model4).textRender());
+    assertEquals(PlayerTurn.WHITE, model4.getPlayerTurn());
+    assertEquals(3, model4.getScore(PlayerTurn.WHITE));
+    model4.placeTile(-1, 2, -1);
+    assertEquals(FillType.WHITE, model4.getTileAt(-1, 1, 0).getFT());
+  }
+
+  @Test
+  public void testMakeInvalidMoveLeavesBoard() {
+    model4.startGame();
+    long version = model4.getVersion();
+    long hash = model4.getPositionHash();
+    try {
+      model4.makeMove(-2, 2, 0);
+    } catch (IllegalStateException e) {
+      assertEquals(FillType.EMPTY, model4.getTileAt(-2, 2, 0).getFT());
+      assertEquals(PlayerTurn.WHITE, model4.getPlayerTurn());
+      assertEquals(3, model4.getScore(PlayerTurn.WHITE));
+      // a rejected move is not a change
+      assertEquals(version, model4.getVersion());
+      assertEquals(hash, model4.getPositionHash());
+      return;
+    }
+    throw new AssertionError("invalid move was made");
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testUnmakeOutOfOrderThrows() {
+    model4.startGame();
+    UndoRecord first = model4.makeMove(-1, 2, -1);
+    model4.makePass();
+    model4.unmakeMove(first);
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testTiedPositionHasNoLeader() {
+    model4.startGame();
+    model4.getPositionSummary().getLeader();
+  }
+
+  @Test
+  public void testPositionSummaryFollowsMoves() {
+    model4.startGame();
+    PositionSummary start = model4.getPositionSummary();
+    assertEquals(3, start.getScore(PlayerTurn.WHITE));
+    assertEquals(3, start.getScore(PlayerTurn.BLACK));
+    assertEquals(31, start.getEmptyTiles());
+    assertTrue(start.isTied());
+    assertEquals(0, start.getMovesMade());
+    model4.placeTile(-1, 2, -1);
+    PositionSummary after = model4.getPositionSummary();
+    assertEquals(5, after.getScore(PlayerTurn.WHITE));
+    assertEquals(2, after.getScore(PlayerTurn.BLACK));
+    assertEquals(30, after.getEmptyTiles());
+    assertFalse(after.isTied());
+    assertEquals(PlayerTurn.WHITE, after.getLeader());
+    assertEquals(PlayerTurn.BLACK, after.getPlayerTurn());
+    assertEquals(1, after.getMovesMade());
+    assertEquals(3, start.getScore(PlayerTurn.WHITE));
+  }
+
+  @Test
+  public void testLegalMovesMatchIsMoveValid() {
+    model4.startGame();
+    for (int turn = 0; turn < 6; turn++) {
+      int[] moves = model4.getLegalMoves();
+      int count = 0;
+      for (int i = 0; i < model4.getNumTiles(); i++) {
+        Tile tile = model4.getTileAtIndex(i);
+        if (model4.isMoveValid(tile.getQorX(), tile.getRorY(), tile.getS())) {
+          assertEquals(i, moves[count++]);
+        }
+      }
+      assertEquals(moves.length, count);
+      Tile first = model4.getTileAtIndex(moves[0]);
+      model4.placeTile(first.getQorX(), first.getRorY(), first.getS());
+    }
+  }
+
+  @Test
+  public void testNextLegalMoveWalksLegalMoves() {
+    model4.startGame();
+    int[] moves = model4.getLegalMoves();
+    assertEquals(6, moves.length);
+    int count = 0;
+    for (int i = model4.nextLegalMove(0); i >= 0; i = model4.nextLegalMove(i + 1)) {
+      assertEquals(moves[count++], i);
+    }
+    assertEquals(moves.length, count);
+    assertEquals(moves[1], model4.nextLegalMove(moves[0] + 1));
+    assertEquals(-1, model4.nextLegalMove(model4.getNumTiles()));
+    moves[0] = -5;
+    assertEquals(moves[1], model4.nextLegalMove(moves[1]));
+    assertFalse(model4.getLegalMoves()[0] == -5);
+  }
+
+  @Test
+  public void testFlipCountsMatchCountFlipsForMove() {
+    model5.startGame();
+    for (int turn = 0; turn < 10 && !model5.isGameOver(); turn++) {
+      int[] counts = model5.getFlipCounts();
+      assertEquals(model5.getNumTiles(), counts.length);
+      int best = -1;
+      for (int i = 0; i < model5.getNumTiles(); i++) {
+        Tile tile = model5.getTileAtIndex(i);
+        int flips = model5.countFlipsForMove(tile.getQorX(), tile.getRorY(), tile.getS());
+        assertEquals(Math.max(flips - 1, 0), counts[i]);
+        if (best == -1 || counts[i] > counts[best]) {
+          best = i;
+        }
+      }
+      if (counts[best] == 0) {
+        model5.pass();
+      } else {
+        Tile move = model5.getTileAtIndex(best);
+        model5.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+  }
+
+  @Test
+  public void testReadsShareImmutableTiles() {
+    model5.startGame();
+    Tile first = model5.getTileAt(0, 1, -1);
+    assertSame(first, model5.getTileAt(0, 1, -1));
+    for (Tile copy : model5.copyTiles()) {
+      assertNotSame(first, copy);
+      if (copy.hasCoords(0, 1, -1)) {
+        copy.flipTile();
+      }
+    }
+    assertEquals(FillType.WHITE, first.getFT());
+    Tile clone = first.getClone();
+    clone.flipTile();
+    assertEquals(FillType.BLACK, clone.getFT());
+    assertEquals(FillType.WHITE, model5.getTileAt(0, 1, -1).getFT());
+  }
+
+  @Test (expected = UnsupportedOperationException.class)
+  public void testModelTilesCannotBeChanged() {
+    model5.startGame();
+    model5.getTileAt(0, 0, 0).setFillType(FillType.BLACK);
+  }
+
+  @Test
+  public void testVersionAndBulkFills() {
+    long unstarted = model5.getVersion();
+    model5.startGame();
+    long started = model5.getVersion();
+    assertTrue(started != unstarted);
+    FillType[] fills = new FillType[model5.getNumTiles()];
+    model5.readFills(fills);
+    for (int i = 0; i < fills.length; i++) {
+      assertEquals(model5.getTileAtIndex(i).getFT(), fills[i]);
+      assertEquals(fills[i], model5.getFillAtIndex(i));
+    }
+    Tile move = model5.getTileAtIndex(model5.getLegalMoves()[0]);
+    UndoRecord record = model5.makeMove(move.getQorX(), move.getRorY(), move.getS());
+    long moved = model5.getVersion();
+    assertTrue(moved != started);
+    model5.getLegalMoves();
+    model5.getScore(PlayerTurn.WHITE);
+    assertEquals(moved, model5.getVersion());
+    model5.unmakeMove(record);
+    assertTrue(model5.getVersion() != moved);
+    model5.readFills(fills);
+    for (int i = 0; i < fills.length; i++) {
+      assertEquals(model5.getFillAtIndex(i), fills[i]);
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testReadFillsIntoShortArrayThrows() {
+    model5.startGame();
+    model5.readFills(new FillType[model5.getNumTiles() - 1]);
+  }
+
+  @Test
+  public void testReadOnlyViewIsLive() {
+    ReadOnlyReversiModel view = new ReadOnlyReversiImpl(model5);
+    model5.startGame();
+    long version = view.getVersion();
+    Tile move = model5.getTileAtIndex(model5.getLegalMoves()[0]);
+    model5.placeTile(move.getQorX(), move.getRorY(), move.getS());
+    assertTrue(view.getVersion() != version);
+    assertEquals(model5.getFillAtIndex(model5.getLegalMoves()[0]),
+            view.getFillAtIndex(model5.getLegalMoves()[0]));
+    assertEquals(FillType.WHITE, view.getTileAt(move.getQorX(), move.getRorY(),
+            move.getS()).getFT());
+    ReadOnlyReversiModel copy = view.getCopy();
+    assertFalse(copy instanceof IReversiModel);
+    model5.pass();
+    assertEquals(PlayerTurn.WHITE, view.getPlayerTurn());
+    assertEquals(PlayerTurn.BLACK, copy.getPlayerTurn());
+  }
 }
@@ -0,0 +1,290 @@
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import model.BitboardHexReversiModel;
+import model.BitboardSquareReversiModel;
+import model.FillType;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PackedBoard;
+import model.PlayerTurn;
+import model.RowBitboardSquareReversiModel;
+import model.SparseHexReversiModel;
+import model.SquareReversiModel;
+import model.Tile;
+import model.UndoRecord;
+import view.HexReversiTextualView;
+import view.SquareReversiTextualView;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing the packed board encoding and loading models from it.
+ */
+public class TestPackedBoard {
+
+  @Test
+  public void testRadiusEightHexFitsInFortySevenBytes() {
+    PackedBoard board = new HexReversiModel(8).toPackedBoard();
+    assertEquals(169, board.getNumTiles());
+    assertEquals(47, board.byteSize());
+    assertEquals(47, board.toBytes().length);
+  }
+
+  @Test
+  public void testRadiusAboveOneByteRoundTrips() {
+    IReversiModel model = new SparseHexReversiModel(300);
+    model.startGame();
+    model.placeTile(-1, 2, -1);
+    PackedBoard board = PackedBoard.fromBytes(model.toPackedBoard().toBytes());
+    assertEquals(300, board.getRadius());
+    assertEquals(model.getNumTiles(), board.getNumTiles());
+    assertEquals(model.getPositionHash(), board.positionHash());
+    IReversiModel loaded = new SparseHexReversiModel(board);
+    assertEquals(300, loaded.getRadius());
+    assertEquals(model.getPositionHash(), loaded.getPositionHash());
+    assertEquals(board, loaded.toPackedBoard());
+  }
+
+  @Test
+  public void testHexRoundTripsBetweenModels() {
+    IReversiModel model = new HexReversiModel(4);
+    model.startGame();
+    model.placeTile(-1, 2, -1);
+    model.pass();
+    PackedBoard board = PackedBoard.fromBytes(model.toPackedBoard().toBytes());
+    assertEquals(PlayerTurn.WHITE, board.getPlayerTurn());
+    assertTrue(board.isStarted());
+    assertEquals(List.of(false, true), board.getLastPasses());
+    assertEquals(FillType.WHITE, board.getFill(model.getNumTiles() / 2 - 1));
+
+    IReversiModel loaded = new BitboardHexReversiModel(board);
+    assertEquals(new HexReversiTextualView(model).textRender(),
+            new HexReversiTextualView(loaded).textRender());
+    assertEquals(5, loaded.getScore(PlayerTurn.WHITE));
+    assertEquals(PlayerTurn.WHITE, loaded.getPlayerTurn());
+    assertEquals(board, loaded.toPackedBoard());
+    loaded.pass();
+    assertTrue(loaded.isGameOver());
+  }
+
+  @Test
+  public void testSquareRoundTripsThroughByteBuffer() {
+    IReversiModel model = new BitboardSquareReversiModel();
+    model.startGame();
+    model.placeTile(4, 2, 0);
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    buffer.put((byte) 7);
+    model.toPackedBoard().writeTo(buffer);
+    model.toPackedBoard().writeTo(buffer);
+    buffer.flip();
+    buffer.get();
+    PackedBoard first = PackedBoard.fromBuffer(buffer);
+    PackedBoard second = PackedBoard.fromBuffer(buffer);
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertFalse(buffer.hasRemaining());
+
+    for (IReversiModel loaded : List.of(new SquareReversiModel(first),
+            new RowBitboardSquareReversiModel(first), new BitboardSquareReversiModel(first))) {
+      assertEquals(new SquareReversiTextualView(model).textRender(),
+              new SquareReversiTextualView(loaded).textRender());
+      assertEquals(PlayerTurn.BLACK, loaded.getPlayerTurn());
+      assertEquals(model.getPositionSummary().getEmptyTiles(),
+              loaded.getPositionSummary().getEmptyTiles());
+      loaded.placeTile(5, 2, 0);
+      assertEquals(FillType.BLACK, loaded.getTileAt(4, 3, 0).getFT());
+    }
+  }
+
+  @Test
+  public void testUnstartedBoardLoadsUnstarted() {
+    PackedBoard board = new SquareReversiModel(2).toPackedBoard();
+    assertFalse(board.isStarted());
+    assertNotEquals(board, new SquareReversiModel(4).toPackedBoard());
+    IReversiModel loaded = new SquareReversiModel(board);
+    loaded.startGame();
+    assertEquals(2, loaded.getScore(PlayerTurn.BLACK));
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testWrongShapeThrows() {
+    new SquareReversiModel(new HexReversiModel(4).toPackedBoard());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testWrongRadiusThrows() {
+    new BitboardSquareReversiModel(new SquareReversiModel(2).toPackedBoard());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testWrongLengthThrows() {
+    byte[] bytes = new HexReversiModel(3).toPackedBoard().toBytes();
+    PackedBoard.fromBytes(Arrays.copyOf(bytes, bytes.length + 1));
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testInvalidTileThrows() {
+    byte[] bytes = new HexReversiModel(3).toPackedBoard().toBytes();
+    bytes[4] = (byte) 0xFF;
+    PackedBoard.fromBytes(bytes);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testTruncatedBufferThrows() {
+    byte[] bytes = new HexReversiModel(3).toPackedBoard().toBytes();
+    PackedBoard.fromBuffer(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+  }
+
+  @Test
+  public void testPositionHashIsKeptUpToDateAndSharedByModels() {
+    Random rand = new Random(19);
+    checkHashesOverRandomGames(rand, new HexReversiModel(5), new BitboardHexReversiModel(5),
+            new SparseHexReversiModel(5));
+    checkHashesOverRandomGames(rand, new SquareReversiModel(4),
+            new BitboardSquareReversiModel(), new RowBitboardSquareReversiModel(4));
+  }
+
+  // plays the same random moves, some taken back, on every model, checking their hashes agree
+  // with each other and with a hash of the packed board from scratch
+  private static void checkHashesOverRandomGames(Random rand, IReversiModel... models) {
+    for (IReversiModel model : models) {
+      model.startGame();
+    }
+    IReversiModel lead = models[0];
+    Deque<UndoRecord> history = new ArrayDeque<>();
+    Set<Long> seen = new HashSet<>();
+    while (!lead.isGameOver()) {
+      long hash = lead.getPositionHash();
+      assertEquals(lead.toPackedBoard().positionHash(), hash);
+      for (IReversiModel model : models) {
+        assertEquals(hash, model.getPositionHash());
+        assertEquals(hash, model.getCopy().getPositionHash());
+      }
+      seen.add(hash);
+      int[] moves = lead.getLegalMoves();
+      if (!history.isEmpty() && rand.nextInt(4) == 0) {
+        UndoRecord record = history.pop();
+        for (IReversiModel model : models) {
+          model.unmakeMove(record);
+        }
+      } else if (moves.length == 0) {
+        for (IReversiModel model : models) {
+          history.push(model.makePass());
+        }
+        for (int i = 1; i < models.length; i++) {
+          history.pop();
+        }
+      } else {
+        Tile move = lead.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        for (IReversiModel model : models) {
+          history.push(model.makeMove(move.getQorX(), move.getRorY(), move.getS()));
+        }
+        for (int i = 1; i < models.length; i++) {
+          history.pop();
+        }
+      }
+    }
+    assertTrue(seen.size() > 10);
+    assertNotEquals(new HexReversiModel(5).getPositionHash(),
+            new HexReversiModel(6).getPositionHash());
+  }
+
+  @Test
+  public void testMoveHistoryRecordsMovesPassesAndUndos() {
+    IReversiModel model = new HexReversiModel(4);
+    assertArrayEquals(new int[0], model.getMoveHistory());
+    model.startGame();
+    int first = model.getLegalMoves()[0];
+    Tile tile = model.getTileAtIndex(first);
+    model.placeTile(tile.getQorX(), tile.getRorY(), tile.getS());
+    model.pass();
+    assertArrayEquals(new int[]{first, -1}, model.getMoveHistory());
+    int second = model.getLegalMoves()[0];
+    tile = model.getTileAtIndex(second);
+    UndoRecord record = model.makeMove(tile.getQorX(), tile.getRorY(), tile.getS());
+    assertArrayEquals(new int[]{first, -1, second}, model.getMoveHistory());
+    assertArrayEquals(new int[]{first, -1, second}, model.getCopy().getMoveHistory());
+    model.unmakeMove(record);
+    assertArrayEquals(new int[]{first, -1}, model.getMoveHistory());
+  }
+
+  @Test
+  public void testLoadedBoardOnlyKnowsItsLastPasses() {
+    IReversiModel model = new SquareReversiModel(4);
+    model.startGame();
+    int first = model.getLegalMoves()[0];
+    Tile tile = model.getTileAtIndex(first);
+    model.placeTile(tile.getQorX(), tile.getRorY(), tile.getS());
+    model.pass();
+    IReversiModel loaded = new SquareReversiModel(model.toPackedBoard());
+    assertArrayEquals(new int[]{-2, -1}, loaded.getMoveHistory());
+  }
+
+  @Test
+  public void testReplayMatchesTheGameItRecords() {
+    Random rand = new Random(23);
+    checkReplays(rand, new HexReversiModel(5), moves -> new HexReversiModel(5, moves));
+    checkReplays(rand, new BitboardHexReversiModel(5),
+            moves -> new BitboardHexReversiModel(5, moves));
+    checkReplays(rand, new SparseHexReversiModel(5),
+            moves -> new SparseHexReversiModel(5, moves));
+    checkReplays(rand, new SquareReversiModel(4), moves -> new SquareReversiModel(4, moves));
+    checkReplays(rand, new BitboardSquareReversiModel(), BitboardSquareReversiModel::new);
+    checkReplays(rand, new RowBitboardSquareReversiModel(4),
+            moves -> new RowBitboardSquareReversiModel(4, moves));
+  }
+
+  // plays a random game to the end, checking after every move that replaying the recorded
+  // history gives back the same position, and that the replay can be played on
+  private static void checkReplays(Random rand, IReversiModel model,
+                                   Function<int[], IReversiModel> replay) {
+    model.startGame();
+    while (!model.isGameOver()) {
+      int[] moves = model.getLegalMoves();
+      if (moves.length == 0) {
+        model.pass();
+      } else {
+        Tile move = model.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+      IReversiModel replayed = replay.apply(model.getMoveHistory());
+      assertArrayEquals(model.toPackedBoard().toBytes(), replayed.toPackedBoard().toBytes());
+      assertArrayEquals(model.getMoveHistory(), replayed.getMoveHistory());
+      assertEquals(model.getPositionHash(), replayed.getPositionHash());
+      assertEquals(model.getScore(PlayerTurn.BLACK), replayed.getScore(PlayerTurn.BLACK));
+      assertArrayEquals(model.getLegalMoves(), replayed.getLegalMoves());
+    }
+    assertTrue(model.getMoveHistory().length > 20);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplayOfIllegalMoveThrows() {
+    new HexReversiModel(4, new int[]{0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplayOfUnknownMoveThrows() {
+    new SquareReversiModel(4, new int[]{-2});
+  }
+
+  @Test
+  public void testReplayOfNothingStartsTheGame() {
+    IReversiModel model = new BitboardSquareReversiModel(new int[0]);
+    assertTrue(model.toPackedBoard().isStarted());
+    assertEquals(4, model.getLegalMoves().length);
+  }
+}
@@ -0,0 +1,188 @@
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import model.FillType;
+import model.IReversiModel;
+import model.PlayerTurn;
+import model.RowBitboardSquareReversiModel;
+import model.SquareReversiModel;
+import model.UndoRecord;
+import view.SquareReversiTextualView;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testing class to test the row bitboard square Reversi Model against the square-tile model.
+ */
+public class TestRowBitboardSquareReversiModel {
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testOddRadiusThrows() {
+    new RowBitboardSquareReversiModel(5);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testRadiusTooLargeThrows() {
+    new RowBitboardSquareReversiModel(RowBitboardSquareReversiModel.MAX_RADIUS + 2);
+  }
+
+  @Test
+  public void testLargestBoardStarts() {
+    RowBitboardSquareReversiModel model =
+            new RowBitboardSquareReversiModel(RowBitboardSquareReversiModel.MAX_RADIUS);
+    model.startGame();
+    assertEquals(64 * 64, model.getNumTiles());
+    assertEquals(2, model.getScore(PlayerTurn.WHITE));
+    assertEquals(FillType.WHITE, model.getTileAt(31, 31, 0).getFT());
+    assertEquals(FillType.BLACK, model.getTileAt(32, 31, 0).getFT());
+    int moves = 0;
+    for (long row : model.getLegalMoveRows(FillType.WHITE)) {
+      moves += Long.bitCount(row);
+    }
+    assertEquals(4, moves);
+    model.placeTile(32, 30, 0);
+    assertEquals(4, model.getScore(PlayerTurn.WHITE));
+    assertEquals(1, model.getScore(PlayerTurn.BLACK));
+  }
+
+  @Test
+  public void testRandomGamesMatchSquareModel() {
+    Random rand = new Random(3500);
+    for (int radius = 2; radius <= 6; radius += 2) {
+      for (int game = 0; game < 5; game++) {
+        IReversiModel bits = new RowBitboardSquareReversiModel(radius);
+        IReversiModel tiles = new SquareReversiModel(radius);
+        bits.startGame();
+        tiles.startGame();
+        int side = 2 * radius;
+        while (!tiles.isGameOver()) {
+          assertFalse(bits.isGameOver());
+          int moves = 0;
+          int chosen = -1;
+          for (int x = 0; x < side; x++) {
+            for (int y = 0; y < side; y++) {
+              assertEquals(tiles.getTileAt(x, y, 0).getFT(), bits.getTileAt(x, y, 0).getFT());
+              assertEquals(tiles.nextLegalMove(x * side + y), bits.nextLegalMove(x * side + y));
+              assertEquals(tiles.countFlipsForMove(x, y, 0), bits.countFlipsForMove(x, y, 0));
+              if (tiles.isMoveValid(x, y, 0) && rand.nextInt(++moves) == 0) {
+                chosen = x * side + y;
+              }
+            }
+          }
+          if (chosen == -1) {
+            tiles.pass();
+            bits.pass();
+          } else {
+            tiles.placeTile(chosen / side, chosen % side, 0);
+            bits.placeTile(chosen / side, chosen % side, 0);
+          }
+          assertEquals(tiles.getScore(PlayerTurn.WHITE), bits.getScore(PlayerTurn.WHITE));
+          assertEquals(tiles.getScore(PlayerTurn.BLACK), bits.getScore(PlayerTurn.BLACK));
+        }
+        assertTrue(bits.isGameOver());
+      }
+    }
+  }
+
+  @Test
+  public void testLegalMoveRowsMatchIsMoveValid() {
+    Random rand = new Random(7);
+    RowBitboardSquareReversiModel model = new RowBitboardSquareReversiModel(8);
+    model.startGame();
+    for (int turn = 0; turn < 60 && !model.isGameOver(); turn++) {
+      FillType ft = model.getFillTypeOfPlayerTurn(model.getPlayerTurn());
+      long[] rows = model.getLegalMoveRows(ft);
+      int chosen = -1;
+      int moves = 0;
+      for (int x = 0; x < 16; x++) {
+        for (int y = 0; y < 16; y++) {
+          boolean legal = (rows[x] >>> y & 1L) != 0;
+          assertEquals(model.isMoveValid(x, y, 0), legal);
+          if (legal && rand.nextInt(++moves) == 0) {
+            chosen = x * 16 + y;
+          }
+        }
+      }
+      if (chosen == -1) {
+        model.pass();
+      } else {
+        model.placeTile(chosen / 16, chosen % 16, 0);
+      }
+    }
+  }
+
+  @Test
+  public void testUnmakingRandomGameRestoresStart() {
+    Random rand = new Random(42);
+    RowBitboardSquareReversiModel model = new RowBitboardSquareReversiModel(6);
+    model.startGame();
+    IReversiModel tiles = new SquareReversiModel(6);
+    tiles.startGame();
+    String start = new SquareReversiTextualView(model).textRender();
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    while (!tiles.isGameOver()) {
+      List<Integer> moves = new ArrayList<>();
+      for (int i = 0; i < 144; i++) {
+        if (tiles.isMoveValid(i / 12, i % 12, 0)) {
+          moves.add(i);
+        }
+      }
+      if (moves.isEmpty()) {
+        tiles.pass();
+        records.push(model.makePass());
+      } else {
+        int move = moves.get(rand.nextInt(moves.size()));
+        tiles.placeTile(move / 12, move % 12, 0);
+        UndoRecord record = model.makeMove(move / 12, move % 12, 0);
+        assertEquals(move, record.getIndex());
+        records.push(record);
+      }
+      for (int i = 0; i < 144; i++) {
+        assertEquals(tiles.getTileAtIndex(i).getFT(), model.getTileAtIndex(i).getFT());
+      }
+    }
+    while (!records.isEmpty()) {
+      model.unmakeMove(records.pop());
+    }
+    assertEquals(start, new SquareReversiTextualView(model).textRender());
+    assertEquals(PlayerTurn.WHITE, model.getPlayerTurn());
+  }
+
+  @Test
+  public void testMoveGenerationCanRunOnManyThreadsAtOnce() throws InterruptedException {
+    RowBitboardSquareReversiModel model = new RowBitboardSquareReversiModel(8);
+    model.startGame();
+    long[] white = model.getLegalMoveRows(FillType.WHITE);
+    long[] black = model.getLegalMoveRows(FillType.BLACK);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      FillType ft = i % 2 == 0 ? FillType.WHITE : FillType.BLACK;
+      Thread reader = new Thread(() -> {
+        try {
+          for (int read = 0; read < 20_000; read++) {
+            assertArrayEquals(ft == FillType.WHITE ? white : black, model.getLegalMoveRows(ft));
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+  }
+}
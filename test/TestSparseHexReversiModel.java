@@ -0,0 +1,201 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import model.FillType;
+import model.HexReversiModel;
+import model.IReversiModel;
+import model.PackedBoard;
+import model.PlayerTurn;
+import model.SparseHexReversiModel;
+import model.Tile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the hexagonal model suite on the sparse hex model, checks it against HexReversiModel
+ * over random games, and plays on a board too large for the other models.
+ */
+public class TestSparseHexReversiModel extends TestHexReversiModel {
+
+  @Override
+  protected IReversiModel makeModel(int radius) {
+    return new SparseHexReversiModel(radius);
+  }
+
+  @Test
+  public void testRandomGamesMatchHexModel() {
+    Random rand = new Random(1500);
+    for (int radius = 2; radius <= 6; radius++) {
+      for (int game = 0; game < 5; game++) {
+        IReversiModel sparse = new SparseHexReversiModel(radius);
+        IReversiModel tiles = new HexReversiModel(radius);
+        sparse.startGame();
+        tiles.startGame();
+        while (!tiles.isGameOver()) {
+          assertFalse(sparse.isGameOver());
+          int[] moves = tiles.getLegalMoves();
+          assertArrayEquals(moves, sparse.getLegalMoves());
+          assertArrayEquals(tiles.getFlipCounts(), sparse.getFlipCounts());
+          if (moves.length == 0) {
+            tiles.pass();
+            sparse.pass();
+          } else {
+            Tile move = tiles.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+            tiles.placeTile(move.getQorX(), move.getRorY(), move.getS());
+            sparse.placeTile(move.getQorX(), move.getRorY(), move.getS());
+          }
+          assertEquals(tiles.toPackedBoard(), sparse.toPackedBoard());
+        }
+        assertTrue(sparse.isGameOver());
+      }
+    }
+  }
+
+  @Test
+  public void testHugeBoard() {
+    IReversiModel model = new SparseHexReversiModel(150);
+    model.startGame();
+    assertEquals(3 * 150 * 149 + 1, model.getNumTiles());
+    assertEquals(6, model.getLegalMoves().length);
+    Random rand = new Random(4);
+    for (int turn = 0; turn < 200 && !model.isGameOver(); turn++) {
+      int[] moves = model.getLegalMoves();
+      if (moves.length == 0) {
+        model.pass();
+      } else {
+        Tile move = model.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        model.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+    assertEquals(206, model.getScore(PlayerTurn.WHITE) + model.getScore(PlayerTurn.BLACK));
+    assertTrue(model.doCoordsExist(149, -149, 0));
+    assertFalse(model.doCoordsExist(150, -150, 0));
+    IReversiModel copy = model.getCopy();
+    assertEquals(model.toPackedBoard(), copy.toPackedBoard());
+  }
+
+  @Test
+  public void testParallelSearchMatchesSerialSearch() {
+    Random rand = new Random(2048);
+    // a threshold of 1 splits every frontier across the pool, down to one tile a task
+    IReversiModel parallel = new SparseHexReversiModel(60, 1);
+    IReversiModel serial = new SparseHexReversiModel(60, Integer.MAX_VALUE);
+    parallel.startGame();
+    serial.startGame();
+    for (int turn = 0; turn < 300 && !serial.isGameOver(); turn++) {
+      int[] moves = serial.getLegalMoves();
+      assertArrayEquals(moves, parallel.getLegalMoves());
+      if (moves.length == 0) {
+        serial.pass();
+        parallel.pass();
+      } else {
+        Tile move = serial.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        serial.placeTile(move.getQorX(), move.getRorY(), move.getS());
+        parallel.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+    assertEquals(serial.toPackedBoard(), parallel.toPackedBoard());
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testParallelThresholdBelowOneThrows() {
+    new SparseHexReversiModel(60, 0);
+  }
+
+  @Test
+  public void testFrontierAboveThresholdMatchesHexModelInMilliseconds() {
+    PackedBoard board = largeFrontierBoard(60, 46, new Random(7));
+    IReversiModel sparse = new SparseHexReversiModel(board);
+    IReversiModel tiles = new HexReversiModel(board);
+    Random rand = new Random(8);
+    long nanos = 0;
+    int turns = 0;
+    for (; turns < 40 && !tiles.isGameOver(); turns++) {
+      int[] moves = tiles.getLegalMoves();
+      long start = System.nanoTime();
+      int[] sparseMoves = sparse.getLegalMoves();
+      nanos += System.nanoTime() - start;
+      assertArrayEquals(moves, sparseMoves);
+      if (moves.length == 0) {
+        tiles.pass();
+        sparse.pass();
+      } else {
+        Tile move = tiles.getTileAtIndex(moves[rand.nextInt(moves.length)]);
+        tiles.placeTile(move.getQorX(), move.getRorY(), move.getS());
+        sparse.placeTile(move.getQorX(), move.getRorY(), move.getS());
+      }
+    }
+    assertEquals(tiles.toPackedBoard(), sparse.toPackedBoard());
+    // generous, so a loaded machine does not fail it; a move typically takes a few milliseconds
+    assertTrue(nanos / turns / 1_000_000 < 100);
+  }
+
+  // a started board with every tile within extent of the center taken by a random player except
+  // those with (q - r) divisible by 3, which are each surrounded by taken tiles, so the frontier
+  // holds more than PARALLEL_THRESHOLD tiles and many of them are legal moves
+  private static PackedBoard largeFrontierBoard(int radius, int extent, Random rand) {
+    IReversiModel model = new SparseHexReversiModel(radius);
+    model.startGame();
+    byte[] bytes = model.toPackedBoard().toBytes();
+    int header = bytes.length - (model.getNumTiles() + 3) / 4;
+    Arrays.fill(bytes, header, bytes.length, (byte) 0);
+    int empties = 0;
+    for (int q = -extent; q <= extent; q++) {
+      for (int r = -extent; r <= extent; r++) {
+        if (Math.abs(q + r) > extent) {
+          continue;
+        }
+        if (Math.floorMod(q - r, 3) == 0) {
+          empties++;
+          continue;
+        }
+        int index = model.getIndexOf(q, r, -q - r);
+        FillType fill = rand.nextBoolean() ? FillType.WHITE : FillType.BLACK;
+        bytes[header + index / 4] |= (byte) (fill.ordinal() << (index % 4 * 2));
+      }
+    }
+    assertTrue(empties > SparseHexReversiModel.PARALLEL_THRESHOLD);
+    return PackedBoard.fromBytes(bytes);
+  }
+
+  @Test
+  public void testCopiesShareTilesSafelyAcrossThreads() throws InterruptedException {
+    IReversiModel model = new SparseHexReversiModel(150);
+    model.startGame();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      IReversiModel copy = model.getCopy();
+      long seed = i;
+      Thread reader = new Thread(() -> {
+        Random rand = new Random(seed);
+        try {
+          for (int read = 0; read < 20_000; read++) {
+            int index = rand.nextInt(copy.getNumTiles());
+            Tile tile = copy.getTileAtIndex(index);
+            assertEquals(copy.getFillAtIndex(index), tile.getFT());
+            assertEquals(0, tile.getQorX() + tile.getRorY() + tile.getS());
+            assertTrue(copy.doCoordsExist(tile.getQorX(), tile.getRorY(), tile.getS()));
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+  }
+}
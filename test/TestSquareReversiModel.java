@@ -1,15 +1,22 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import model.FillType;
 import model.IReversiModel;
 import model.PlayerTurn;
+import model.PositionSummary;
 import model.SquareReversiModel;
 import model.SquareTile;
+import model.Tile;
+import model.UndoRecord;
 import view.SquareReversiTextualView;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -203,4 +210,138 @@ public class TestSquareReversiModel {
     assertEquals(4, reversiCopy.getScore(PlayerTurn.WHITE));
     assertEquals(2, model4.getScore(PlayerTurn.WHITE));
   }
+
+  @Test
+  public void testGetTileAtIndexMatchesCoordinates() {
+    model4.startGame();
+    assertEquals(64, model4.getNumTiles());
+    for (int i = 0; i < model4.getNumTiles(); i++) {
+      Tile indexed = model4.getTileAtIndex(i);
+      Tile located = model4.getTileAt(indexed.getQorX(), indexed.getRorY(), 0);
+      assertTrue(indexed.hasCoords(located.getQorX(), located.getRorY(), 0));
+      assertEquals(located.getFT(), indexed.getFT());
+    }
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testGetTileAtIndexOffTheBoardThrows() {
+    model4.startGame();
+    model4.getTileAtIndex(-1);
+  }
+
+  @Test
+  public void testCountFlipsForMoveDoesNotMutateBoard() {
+    model4.startGame();
+    assertEquals(2, model4.countFlipsForMove(4, 2, 0));
+    assertEquals(0, model4.countFlipsForMove(0, 0, 0));
+    assertEquals(0, model4.countFlipsForMove(3, 3, 0));
+    assertEquals(2, model4.getScore(PlayerTurn.BLACK));
+    assertEquals(2, model4.getScore(PlayerTurn.WHITE));
+    assertEquals(FillType.EMPTY, model4.getTileAt(4, 2, 0).getFT());
+    assertTrue(model4.isMoveValid(4, 2, 0));
+    assertEquals(PlayerTurn.WHITE, model4.getPlayerTurn());
+  }
+
+  @Test
+  public void testMakeAndUnmakeMoveRestoresBoard() {
+    model4.startGame();
+    String before = view.textRender();
+    UndoRecord first = model4.makeMove(4, 2, 0);
+    assertEquals(1, first.getNumFlipped());
+    assertEquals(4, model4.getScore(PlayerTurn.WHITE));
+    assertEquals(PlayerTurn.BLACK, model4.getPlayerTurn());
+    UndoRecord second = model4.makeMove(5, 2, 0);
+    assertEquals(FillType.BLACK, model4.getTileAt(4, 3, 0).getFT());
+    model4.unmakeMove(second);
+    model4.unmakeMove(first);
+    assertEquals(before, view.textRender());
+    assertEquals(PlayerTurn.WHITE, model4.getPlayerTurn());
+    assertEquals(2, model4.getScore(PlayerTurn.BLACK));
+  }
+
+  @Test (expected = IllegalStateException.class)
+  public void testMakeMoveOnTakenTileThrows() {
+    model4.startGame();
+    model4.makeMove(3, 3, 0);
+  }
+
+  @Test (expected = IllegalArgumentException.class)
+  public void testUnmakeOutOfOrderThrows() {
+    model4.startGame();
+    UndoRecord first = model4.makeMove(4, 2, 0);
+    model4.makeMove(5, 2, 0);
+    model4.unmakeMove(first);
+  }
+
+  @Test
+  public void testPositionSummaryFollowsMoves() {
+    model4.startGame();
+    assertEquals(60, model4.getPositionSummary().getEmptyTiles());
+    model4.placeTile(4, 2, 0);
+    model4.pass();
+    PositionSummary summary = model4.getPositionSummary();
+    assertEquals(4, summary.getScore(PlayerTurn.WHITE));
+    assertEquals(1, summary.getScore(PlayerTurn.BLACK));
+    assertEquals(59, summary.getEmptyTiles());
+    assertEquals(PlayerTurn.WHITE, summary.getPlayerTurn());
+    assertEquals(2, summary.getMovesMade());
+    IReversiModel copy = model4.getCopy();
+    assertEquals(4, copy.getPositionSummary().getScore(PlayerTurn.WHITE));
+    copy.placeTile(2, 5, 0);
+    assertEquals(6, copy.getScore(PlayerTurn.WHITE));
+    assertEquals(0, copy.getScore(PlayerTurn.BLACK));
+    assertEquals(4, model4.getScore(PlayerTurn.WHITE));
+  }
+
+  @Test
+  public void testGameOverIsAnnouncedOnce() {
+    List<PlayerTurn> turns = new ArrayList<>();
+    model4.addModelListener(turns::add);
+    model4.startGame();
+    assertFalse(model4.isGameOver());
+    model4.pass();
+    assertFalse(model4.isGameOver());
+    model4.pass();
+    for (int i = 0; i < 3; i++) {
+      assertTrue(model4.isGameOver());
+    }
+    assertEquals(List.of(PlayerTurn.WHITE, PlayerTurn.BLACK, PlayerTurn.OVER), turns);
+  }
+
+  @Test
+  public void testGameOverWhenAPlayerHasNoTiles() {
+    List<PlayerTurn> turns = new ArrayList<>();
+    model4.addModelListener(turns::add);
+    model4.startGame();
+    model4.placeTile(4, 2, 0);
+    model4.pass();
+    model4.placeTile(2, 5, 0);
+    assertEquals(0, model4.getScore(PlayerTurn.BLACK));
+    assertTrue(model4.isGameOver());
+    assertEquals(PlayerTurn.OVER, turns.get(turns.size() - 1));
+    assertEquals(1, turns.stream().filter(PlayerTurn.OVER::equals).count());
+  }
+
+  @Test
+  public void testFlipCountsMatchCountFlipsForMove() {
+    model4.startGame();
+    model4.placeTile(4, 2, 0);
+    model4.placeTile(5, 2, 0);
+    int[] counts = model4.getFlipCounts();
+    for (int x = 0; x < 8; x++) {
+      for (int y = 0; y < 8; y++) {
+        int flips = model4.countFlipsForMove(x, y, 0);
+        assertEquals(Math.max(flips - 1, 0), counts[x * 8 + y]);
+      }
+    }
+    assertEquals(1, counts[6 * 8 + 2]);
+  }
+
+  @Test (expected = UnsupportedOperationException.class)
+  public void testModelTilesCannotBeFlipped() {
+    model4.startGame();
+    Tile tile = model4.getTileAt(3, 3, 0);
+    assertSame(tile, model4.getTileAtIndex(3 * 8 + 3));
+    tile.flipTile();
+  }
 }
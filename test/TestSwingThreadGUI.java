@@ -0,0 +1,63 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import view.IReversiGUI;
+import view.SwingThreadGUI;
+import view.TileClickedListener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing that SwingThreadGUI runs every view call on the Swing thread, in order.
+ */
+public class TestSwingThreadGUI {
+
+  @Test
+  public void testCallsFromAnotherThreadRunOnTheSwingThreadInOrder() throws Exception {
+    List<String> calls = new ArrayList<>();
+    List<Boolean> onSwingThread = new ArrayList<>();
+    IReversiGUI recorder = new IReversiGUI() {
+      @Override
+      public void addTileClickedListener(TileClickedListener e) {
+        this.record("listener");
+      }
+
+      @Override
+      public void setLabel(String message) {
+        this.record("label " + message);
+      }
+
+      @Override
+      public void updateBoard() {
+        this.record("update");
+      }
+
+      @Override
+      public void notifyPlayer(String message) {
+        this.record("notify " + message);
+      }
+
+      private void record(String call) {
+        calls.add(call);
+        onSwingThread.add(SwingUtilities.isEventDispatchThread());
+      }
+    };
+    IReversiGUI view = new SwingThreadGUI(recorder);
+    Thread worker = new Thread(() -> {
+      view.setLabel("Your turn!");
+      view.updateBoard();
+      view.notifyPlayer("Not your turn!");
+    });
+    worker.start();
+    worker.join();
+    // every call was queued before this, so it runs after all of them
+    SwingUtilities.invokeAndWait(() -> { });
+    assertEquals(List.of("label Your turn!", "update", "notify Not your turn!"), calls);
+    assertTrue(onSwingThread.stream().allMatch(on -> on));
+  }
+}
@@ -0,0 +1,125 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.TranspositionTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class for testing the transposition table's entries, replacement and counters.
+ */
+public class TestTranspositionTable {
+  // hashes that differ only above the bucket bits of a small table land in the same bucket
+  private static final long SAME_BUCKET = 1L << 40;
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoMemoryThrows() {
+    new TranspositionTable(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testScoreOutOfRangeThrows() {
+    new TranspositionTable(1).store(5, 3, TranspositionTable.MAX_SCORE + 1, 2,
+            TranspositionTable.EXACT);
+  }
+
+  @Test
+  public void testPackedDataRoundTrips() {
+    long data = TranspositionTable.pack(-1, -TranspositionTable.MAX_SCORE, 100,
+            TranspositionTable.UPPER_BOUND);
+    assertEquals(-1, TranspositionTable.moveOf(data));
+    assertEquals(-TranspositionTable.MAX_SCORE, TranspositionTable.scoreOf(data));
+    assertEquals(TranspositionTable.MAX_DEPTH, TranspositionTable.depthOf(data));
+    assertEquals(TranspositionTable.UPPER_BOUND, TranspositionTable.boundOf(data));
+    data = TranspositionTable.pack(4000, 1_000_017, 0, TranspositionTable.EXACT);
+    assertEquals(4000, TranspositionTable.moveOf(data));
+    assertEquals(1_000_017, TranspositionTable.scoreOf(data));
+    assertEquals(0, TranspositionTable.depthOf(data));
+    assertEquals(TranspositionTable.EXACT, TranspositionTable.boundOf(data));
+  }
+
+  @Test
+  public void testStoredEntriesAreFoundAndCounted() {
+    TranspositionTable table = new TranspositionTable(1);
+    assertEquals(65536, table.capacity());
+    assertEquals(0, table.probe(12345));
+    table.store(12345, 7, -40, 5, TranspositionTable.LOWER_BOUND);
+    long data = table.probe(12345);
+    assertEquals(7, TranspositionTable.moveOf(data));
+    assertEquals(-40, TranspositionTable.scoreOf(data));
+    assertEquals(5, TranspositionTable.depthOf(data));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.boundOf(data));
+    // same bucket, different position, so the check against the hash rejects the entry
+    assertEquals(0, table.probe(12345 + SAME_BUCKET));
+    assertEquals(1, table.getHits());
+    assertEquals(2, table.getMisses());
+    assertEquals(0, table.getCollisions());
+    table.clear();
+    assertEquals(0, table.probe(12345));
+    assertEquals(0, table.getHits());
+    assertEquals(1, table.getMisses());
+  }
+
+  @Test
+  public void testDeepEntryIsKeptAndOtherSlotAlwaysReplaced() {
+    TranspositionTable table = new TranspositionTable(1);
+    long deep = 99;
+    table.store(deep, 1, 10, 8, TranspositionTable.EXACT);
+    table.store(deep + SAME_BUCKET, 2, 20, 2, TranspositionTable.EXACT);
+    table.store(deep + 2 * SAME_BUCKET, 3, 30, 1, TranspositionTable.EXACT);
+    assertEquals(1, table.getCollisions());
+    assertEquals(10, TranspositionTable.scoreOf(table.probe(deep)));
+    assertEquals(0, table.probe(deep + SAME_BUCKET));
+    assertEquals(30, TranspositionTable.scoreOf(table.probe(deep + 2 * SAME_BUCKET)));
+
+    // a shallower result for the same position still replaces the deep entry
+    table.store(deep, 4, 40, 3, TranspositionTable.UPPER_BOUND);
+    assertEquals(40, TranspositionTable.scoreOf(table.probe(deep)));
+    // and a search as deep as the deep entry takes its place
+    table.store(deep + 3 * SAME_BUCKET, 5, 50, 3, TranspositionTable.EXACT);
+    assertEquals(0, table.probe(deep));
+    assertEquals(50, TranspositionTable.scoreOf(table.probe(deep + 3 * SAME_BUCKET)));
+    assertEquals(2, table.getCollisions());
+  }
+
+  @Test
+  public void testSharedBetweenThreadsNeverReturnsAnotherPositionsData() throws Exception {
+    TranspositionTable table = new TranspositionTable(1);
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      long seed = t;
+      Thread thread = new Thread(() -> {
+        Random rand = new Random(seed);
+        for (int i = 0; i < 200_000; i++) {
+          // few distinct hashes, all in a handful of buckets, so threads keep overwriting
+          long hash = (rand.nextInt(64) * SAME_BUCKET) | rand.nextInt(4);
+          if (rand.nextBoolean()) {
+            table.store(hash, (int) (hash >>> 40), (int) hash, rand.nextInt(20),
+                    TranspositionTable.EXACT);
+          } else {
+            long data = table.probe(hash);
+            if (data != 0 && (TranspositionTable.moveOf(data) != (int) (hash >>> 40)
+                    || TranspositionTable.scoreOf(data) != (int) hash)) {
+              synchronized (failures) {
+                failures.add(new AssertionError("Wrong data for " + hash));
+              }
+            }
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(failures.isEmpty());
+    assertTrue(table.getHits() > 0);
+    assertTrue(table.getCollisions() > 0);
+  }
+}